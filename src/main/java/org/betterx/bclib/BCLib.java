@@ -68,6 +68,8 @@ public class BCLib implements ModInitializer {
                         HelloServer.DESCRIPTOR,
                         RequestFiles.DESCRIPTOR,
                         SendFiles.DESCRIPTOR,
+                        RequestFiles.RESUMABLE_DESCRIPTOR,
+                        SendFiles.RESUMABLE_DESCRIPTOR,
                         Chunker.DESCRIPTOR
                 )
         );
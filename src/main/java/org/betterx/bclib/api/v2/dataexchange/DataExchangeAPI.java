@@ -4,6 +4,7 @@ import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.dataexchange.handler.DataExchange;
 import org.betterx.bclib.api.v2.dataexchange.handler.autosync.AutoSync;
 import org.betterx.bclib.api.v2.dataexchange.handler.autosync.AutoSyncID;
+import org.betterx.bclib.api.v2.dataexchange.handler.autosync.HelloClient;
 import org.betterx.bclib.config.Config;
 import org.betterx.bclib.config.Configs;
 import org.betterx.worlds.together.util.ModUtil;
@@ -44,7 +45,10 @@ public class DataExchangeAPI extends DataExchange {
      * @param modID - {@link String} modID.
      */
     public static void registerMod(String modID) {
-        if (!MODS.contains(modID)) MODS.add(modID);
+        if (!MODS.contains(modID)) {
+            MODS.add(modID);
+            HelloClient.invalidateServerPayload();
+        }
     }
 
     /**
@@ -121,9 +121,13 @@ public abstract class DataHandler extends BaseDataHandler {
             final Chunker.PacketChunkSender sender = new Chunker.PacketChunkSender(buf, identifier);
             sender.sendChunks(players);
         } else {
+            final long start = SyncMetrics.start();
+            final int size = buf.readableBytes();
             for (ServerPlayer player : players) {
                 ServerPlayNetworking.send(player, identifier, buf);
+                SyncMetrics.recordPlayerTransfer(player, size, start);
             }
+            SyncMetrics.record(SyncMetrics.Phase.TRANSFER, start, (long) size * players.size());
         }
     }
 
@@ -263,6 +267,18 @@ public abstract class DataHandler extends BaseDataHandler {
             return true;
         }
 
+        /**
+         * Creates the buffer that is passed to {@link #serializeDataOnServer(FriendlyByteBuf)}.
+         * <p>
+         * Override this if your handler needs a specialized buffer (for example one that can reference file
+         * content instead of copying it).
+         *
+         * @return A new, empty buffer
+         */
+        protected FriendlyByteBuf createOutgoingBuffer() {
+            return PacketByteBufs.create();
+        }
+
         abstract protected void serializeDataOnServer(FriendlyByteBuf buf);
 
         @Environment(EnvType.CLIENT)
@@ -306,8 +322,10 @@ public abstract class DataHandler extends BaseDataHandler {
         @Override
         final void sendToClient(MinecraftServer server) {
             if (prepareDataOnServer()) {
-                FriendlyByteBuf buf = PacketByteBufs.create();
+                FriendlyByteBuf buf = createOutgoingBuffer();
+                final long start = SyncMetrics.start();
                 serializeDataOnServer(buf);
+                SyncMetrics.record(SyncMetrics.Phase.SERIALIZE, start, buf.readableBytes());
 
                 _sendToClient(getIdentifier(), server, PlayerLookup.all(server), buf);
             }
@@ -316,8 +334,10 @@ public abstract class DataHandler extends BaseDataHandler {
         @Override
         final void sendToClient(MinecraftServer server, ServerPlayer player) {
             if (prepareDataOnServer()) {
-                FriendlyByteBuf buf = PacketByteBufs.create();
+                FriendlyByteBuf buf = createOutgoingBuffer();
+                final long start = SyncMetrics.start();
                 serializeDataOnServer(buf);
+                SyncMetrics.record(SyncMetrics.Phase.SERIALIZE, start, buf.readableBytes());
 
                 _sendToClient(getIdentifier(), server, List.of(player), buf);
             }
@@ -100,6 +100,28 @@ public class FileHash {
         return sb.toString();
     }
 
+    /**
+     * Parses the representation created by {@link #toString()}.
+     *
+     * @param str The String to parse
+     * @return The parsed {@link FileHash} or {@code null} if {@code str} is not a valid representation
+     */
+    public static FileHash fromString(String str) {
+        final String[] parts = str.split("-", 3);
+        if (parts.length != 3 || parts[2].length() % 2 != 0) return null;
+        try {
+            final int size = Integer.parseUnsignedInt(parts[0], 16);
+            final int value = Integer.parseUnsignedInt(parts[1], 16);
+            final byte[] md5 = new byte[parts[2].length() / 2];
+            for (int i = 0; i < md5.length; i++) {
+                md5[i] = (byte) Integer.parseInt(parts[2].substring(2 * i, 2 * i + 2), 16);
+            }
+            return new FileHash(md5, size, value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Create a new {@link FileHash}.
      *
@@ -115,6 +137,7 @@ public class FileHash {
         byte[] md5 = new byte[0];
         int value = 0;
 
+        final long start = SyncMetrics.start();
         try {
             byte[] data = Files.readAllBytes(path);
 
@@ -127,6 +150,7 @@ public class FileHash {
             md.update(data);
             md5 = md.digest();
 
+            SyncMetrics.record(SyncMetrics.Phase.HASH, start, size);
             return new FileHash(md5, size, value);
         } catch (IOException e) {
             BCLib.LOGGER.error("Failed to read file: " + file);
@@ -110,4 +110,16 @@ public class SyncFileHash extends AutoSyncID {
     public static SyncFileHash create(String modID, File file, String uniqueID) {
         return new SyncFileHash(modID, uniqueID, FileHash.create(file));
     }
+
+    /**
+     * Create a new {@link SyncFileHash} from an already calculated {@link FileHash}.
+     *
+     * @param modID    ID of the calling Mod
+     * @param uniqueID The unique ID that is used for this File (see {@link SyncFileHash#uniqueID} for Details.
+     * @param hash     The hash of the File
+     * @return A new Instance.
+     */
+    public static SyncFileHash create(String modID, String uniqueID, FileHash hash) {
+        return new SyncFileHash(modID, uniqueID, hash);
+    }
 }
@@ -0,0 +1,252 @@
+package org.betterx.bclib.api.v2.dataexchange;
+
+import org.betterx.bclib.BCLib;
+import org.betterx.bclib.api.v2.dataexchange.handler.autosync.Chunker;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects timings and byte counts of the {@link DataExchangeAPI} (and therefore of AutoSync).
+ * <p>
+ * Every measurement is added to the totals that are shown by the {@code /bclib print sync_metrics} command
+ * and forwarded to all registered {@link SyncMetricsSink}s.
+ */
+public class SyncMetrics {
+    /**
+     * The measured steps of a transfer
+     */
+    public enum Phase {
+        /**
+         * Calculating the {@link FileHash} of a file
+         */
+        HASH("Hashing"),
+        /**
+         * Writing a message to its buffer on the server
+         */
+        SERIALIZE("Serialization"),
+        /**
+         * Handing a message (or all of its Chunks) to the network layer
+         */
+        TRANSFER("Transfer"),
+        /**
+         * Writing received files to disk on the client
+         */
+        WRITE("Write-back");
+
+        public final String title;
+
+        Phase(String title) {
+            this.title = title;
+        }
+    }
+
+    /**
+     * Accumulated values of a {@link Phase}
+     *
+     * @param phase      The phase
+     * @param count      How often the phase was measured
+     * @param totalNanos The total time spent in the phase
+     * @param maxNanos   The time of the longest measurement
+     * @param bytes      The total number of processed bytes
+     */
+    public record PhaseStats(Phase phase, long count, long totalNanos, long maxNanos, long bytes) {
+        public double averageMillis() {
+            return count == 0 ? 0 : totalNanos / (count * 1_000_000.0);
+        }
+
+        public long bytesPerSecond() {
+            return totalNanos == 0 ? 0 : (long) (bytes * 1_000_000_000.0 / totalNanos);
+        }
+    }
+
+    /**
+     * Accumulated transfers to a single player
+     *
+     * @param player     The UUID of the player
+     * @param playerName The name of the player
+     * @param transfers  The number of messages sent to the player
+     * @param bytes      The total number of bytes sent to the player
+     * @param nanos      The total time the transfers took
+     */
+    public record PlayerStats(UUID player, String playerName, long transfers, long bytes, long nanos) {
+        public long bytesPerSecond() {
+            return nanos == 0 ? 0 : (long) (bytes * 1_000_000_000.0 / nanos);
+        }
+    }
+
+    /**
+     * The state of all metrics at a given time
+     *
+     * @param phases          The accumulated values of all phases
+     * @param players         The accumulated values of all players that received data
+     * @param activeTransfers The number of chunked messages that are currently sent
+     * @param queuedChunks    The number of Chunks that still wait to be sent
+     */
+    public record Snapshot(
+            List<PhaseStats> phases,
+            List<PlayerStats> players,
+            int activeTransfers,
+            int queuedChunks
+    ) {
+    }
+
+    private static class PhaseCounter {
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void reset() {
+            count.reset();
+            nanos.reset();
+            bytes.reset();
+            maxNanos.reset();
+        }
+    }
+
+    private static class PlayerCounter {
+        volatile String name;
+        final LongAdder transfers = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        PlayerCounter(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final Map<Phase, PhaseCounter> PHASES = new EnumMap<>(Phase.class);
+    private static final Map<UUID, PlayerCounter> PLAYERS = new ConcurrentHashMap<>();
+    private static final List<SyncMetricsSink> SINKS = new CopyOnWriteArrayList<>();
+
+    static {
+        for (Phase phase : Phase.values()) {
+            PHASES.put(phase, new PhaseCounter());
+        }
+    }
+
+    /**
+     * Registers a sink that receives all future measurements.
+     *
+     * @param sink The sink to add
+     */
+    public static void addSink(SyncMetricsSink sink) {
+        if (!SINKS.contains(sink)) SINKS.add(sink);
+    }
+
+    /**
+     * Removes a previously registered sink.
+     *
+     * @param sink The sink to remove
+     */
+    public static void removeSink(SyncMetricsSink sink) {
+        SINKS.remove(sink);
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return The start time, that should be passed to {@link #record(Phase, long, long)}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Finishes a measurement that was started with {@link #start()}.
+     *
+     * @param phase      The measured phase
+     * @param startNanos The value returned by {@link #start()}
+     * @param bytes      The number of processed bytes
+     */
+    public static void record(Phase phase, long startNanos, long bytes) {
+        final long nanos = System.nanoTime() - startNanos;
+        final PhaseCounter counter = PHASES.get(phase);
+        counter.count.increment();
+        counter.nanos.add(nanos);
+        counter.bytes.add(bytes);
+        counter.maxNanos.accumulate(nanos);
+
+        for (SyncMetricsSink sink : SINKS) {
+            try {
+                sink.onPhase(phase, nanos, bytes);
+            } catch (RuntimeException e) {
+                BCLib.LOGGER.error("Metrics sink " + sink + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records a message that was completely handed to the network layer for a player.
+     *
+     * @param player     The receiving player
+     * @param bytes      The size of the message
+     * @param startNanos The value returned by {@link #start()} when the transfer started
+     */
+    public static void recordPlayerTransfer(ServerPlayer player, long bytes, long startNanos) {
+        final long nanos = System.nanoTime() - startNanos;
+        final String name = player.getGameProfile().getName();
+        final PlayerCounter counter = PLAYERS.computeIfAbsent(player.getUUID(), uuid -> new PlayerCounter(name));
+        counter.name = name;
+        counter.transfers.increment();
+        counter.bytes.add(bytes);
+        counter.nanos.add(nanos);
+
+        for (SyncMetricsSink sink : SINKS) {
+            try {
+                sink.onPlayerTransfer(player.getUUID(), name, bytes, nanos);
+            } catch (RuntimeException e) {
+                BCLib.LOGGER.error("Metrics sink " + sink + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of the current metrics.
+     * <p>
+     * The queue depths are read from the {@link Chunker}, so this should be called on the server thread.
+     *
+     * @return The current metrics
+     */
+    public static Snapshot snapshot() {
+        final List<PhaseStats> phases = new ArrayList<>(PHASES.size());
+        PHASES.forEach((phase, c) -> phases.add(new PhaseStats(
+                phase,
+                c.count.sum(),
+                c.nanos.sum(),
+                c.maxNanos.get(),
+                c.bytes.sum()
+        )));
+
+        final List<PlayerStats> players = new ArrayList<>(PLAYERS.size());
+        PLAYERS.forEach((uuid, c) -> players.add(new PlayerStats(
+                uuid,
+                c.name,
+                c.transfers.sum(),
+                c.bytes.sum(),
+                c.nanos.sum()
+        )));
+        players.sort(Comparator.comparing(PlayerStats::playerName));
+
+        return new Snapshot(
+                phases,
+                players,
+                Chunker.PacketChunkSender.activeTransfers(),
+                Chunker.PacketChunkSender.queuedChunks()
+        );
+    }
+
+    /**
+     * Clears all collected values.
+     */
+    public static void reset() {
+        PHASES.values().forEach(PhaseCounter::reset);
+        PLAYERS.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package org.betterx.bclib.api.v2.dataexchange;
+
+import java.util.UUID;
+
+/**
+ * Receives the measurements collected by {@link SyncMetrics}. Implement this to export them to an external
+ * monitoring system and register the implementation with {@link SyncMetrics#addSink(SyncMetricsSink)}.
+ * <p>
+ * Methods are called on the thread that did the measured work (server thread, network thread or the
+ * Sync-Folder watcher), so implementations must be thread-safe and should return quickly.
+ */
+public interface SyncMetricsSink {
+    /**
+     * Called whenever a measured phase completed.
+     *
+     * @param phase The phase that completed
+     * @param nanos The time it took in nanoseconds
+     * @param bytes The number of bytes that were processed
+     */
+    default void onPhase(SyncMetrics.Phase phase, long nanos, long bytes) {
+    }
+
+    /**
+     * Called whenever a message was completely handed to the network layer for a player.
+     *
+     * @param player     The UUID of the receiving player
+     * @param playerName The name of the receiving player
+     * @param bytes      The size of the message in bytes
+     * @param nanos      The time between the start of the transfer and the last handed off Chunk
+     */
+    default void onPlayerTransfer(UUID player, String playerName, long bytes, long nanos) {
+    }
+}
@@ -1,12 +1,15 @@
 package org.betterx.bclib.api.v2.dataexchange.handler;
 
 import org.betterx.bclib.api.v2.dataexchange.*;
+import org.betterx.bclib.api.v2.dataexchange.handler.autosync.AutoSync;
+import org.betterx.bclib.api.v2.dataexchange.handler.autosync.Chunker;
 
 import net.minecraft.resources.ResourceLocation;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 
 import java.util.HashSet;
@@ -64,6 +67,9 @@ abstract public class DataExchange {
         ServerPlayConnectionEvents.INIT.register(server::onPlayInit);
         ServerPlayConnectionEvents.JOIN.register(server::onPlayReady);
         ServerPlayConnectionEvents.DISCONNECT.register(server::onPlayDisconnect);
+        ServerTickEvents.END_SERVER_TICK.register(Chunker.PacketChunkSender::tick);
+
+        AutoSync.startSyncFolderWatcher();
     }
 
     /**
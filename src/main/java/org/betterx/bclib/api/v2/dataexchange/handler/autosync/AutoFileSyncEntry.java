@@ -2,6 +2,7 @@ package org.betterx.bclib.api.v2.dataexchange.handler.autosync;
 
 import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.dataexchange.DataHandler;
+import org.betterx.bclib.api.v2.dataexchange.FileHash;
 import org.betterx.bclib.api.v2.dataexchange.SyncFileHash;
 import org.betterx.bclib.util.Pair;
 import org.betterx.bclib.util.Triple;
@@ -11,10 +12,17 @@ import org.betterx.worlds.together.util.PathUtil;
 
 import net.minecraft.network.FriendlyByteBuf;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class AutoFileSyncEntry extends AutoSyncID {
     static class ForDirectFileRequest extends AutoFileSyncEntry {
@@ -26,11 +34,13 @@ class AutoFileSyncEntry extends AutoSyncID {
         }
 
         @Override
-        public int serializeContent(FriendlyByteBuf buf) {
-            int res = super.serializeContent(buf);
+        protected void serializeContentID(FriendlyByteBuf buf) {
             DataHandler.writeString(buf, relFile.toString());
+        }
 
-            return res;
+        @Override
+        String getFileKey() {
+            return super.getFileKey() + "/" + relFile;
         }
 
         static AutoFileSyncEntry.ForDirectFileRequest finishDeserializeContent(String syncID, FriendlyByteBuf buf) {
@@ -86,10 +96,22 @@ class AutoFileSyncEntry extends AutoSyncID {
         }
 
         @Override
-        public int serializeContent(FriendlyByteBuf buf) {
-            final int res = super.serializeContent(buf);
+        protected void serializeContentID(FriendlyByteBuf buf) {
             buf.writeInt(ModUtil.convertModVersion(version));
-            return res;
+        }
+
+        @Override
+        String getFileKey() {
+            return super.getFileKey() + "@" + version;
+        }
+
+        //mod files do not change while the game is running, so we only need to hash them once
+        private static final Map<File, FileHash> MOD_HASHES = new ConcurrentHashMap<>();
+
+        @Override
+        protected SyncFileHash createFileHash() {
+            final FileHash fileHash = MOD_HASHES.computeIfAbsent(fileName, FileHash::create);
+            return SyncFileHash.create(modID, uniqueID, fileHash);
         }
 
         static AutoFileSyncEntry.ForModFileRequest finishDeserializeContent(String modID, FriendlyByteBuf buf) {
@@ -103,6 +125,9 @@ class AutoFileSyncEntry extends AutoSyncID {
         }
     }
 
+    //files of at least this size are memory mapped when they are sent to a client
+    private static final int MAP_THRESHOLD = 1024 * 1024;
+
     public final AutoSync.NeedTransferPredicate needTransfer;
     public final File fileName;
     public final boolean requestContent;
@@ -133,11 +158,19 @@ class AutoFileSyncEntry extends AutoSyncID {
 
     public SyncFileHash getFileHash() {
         if (hash == null) {
-            hash = SyncFileHash.create(modID, fileName, uniqueID);
+            hash = createFileHash();
         }
         return hash;
     }
 
+    protected SyncFileHash createFileHash() {
+        return SyncFileHash.create(modID, fileName, uniqueID);
+    }
+
+    void invalidateHash() {
+        hash = null;
+    }
+
     public byte[] getContent() {
         if (!fileName.exists()) return new byte[0];
         final Path path = fileName.toPath();
@@ -150,10 +183,56 @@ class AutoFileSyncEntry extends AutoSyncID {
         return new byte[0];
     }
 
+    /**
+     * Returns the content of the file without copying it into a heap array first.
+     * <p>
+     * Files larger than {@link #MAP_THRESHOLD} are memory mapped, so the data is only read from disk
+     * once the buffer is accessed. Smaller files (or files on filesystems that do not support mapping) are read
+     * straight from the {@link FileChannel} into the buffer.
+     *
+     * @return A buffer holding the file content, or an empty buffer if the file could not be read
+     */
+    public ByteBuf getContentBuffer() {
+        if (!fileName.exists()) return Unpooled.EMPTY_BUFFER;
+
+        try (FileChannel channel = FileChannel.open(fileName.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                BCLib.LOGGER.error(fileName + " is too large to be transfered.");
+                return Unpooled.EMPTY_BUFFER;
+            }
+
+            if (size >= MAP_THRESHOLD) {
+                try {
+                    return Unpooled.wrappedBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                } catch (IOException | UnsupportedOperationException e) {
+                    BCLib.LOGGER.warning("Unable to map " + fileName + ", reading it instead (" + e.getMessage() + ")");
+                }
+            }
+
+            final ByteBuf buf = Unpooled.buffer((int) size);
+            while (buf.writerIndex() < size) {
+                if (buf.writeBytes(channel, buf.writerIndex(), (int) size - buf.writerIndex()) < 0) break;
+            }
+            return buf;
+        } catch (IOException e) {
+            BCLib.LOGGER.error("Failed to read file: " + fileName);
+        }
+        return Unpooled.EMPTY_BUFFER;
+    }
+
+    /**
+     * Writes the ID and the complete content of the file in the layout used by {@link SendFiles#DESCRIPTOR}.
+     *
+     * @param buf The buffer to write to
+     * @return The number of content bytes that were written
+     */
     public int serializeContent(FriendlyByteBuf buf) {
         DataHandler.writeString(buf, modID);
         DataHandler.writeString(buf, uniqueID);
-        return serializeFileContent(buf);
+        final int res = serializeFileContent(buf);
+        serializeContentID(buf);
+        return res;
     }
 
     public static Triple<AutoFileSyncEntry, byte[], AutoSyncID> deserializeContent(FriendlyByteBuf buf) {
@@ -172,6 +251,57 @@ class AutoFileSyncEntry extends AutoSyncID {
         return new Triple<>(entry, data, new AutoSyncID(modID, uniqueID));
     }
 
+    /**
+     * The header that preceeds the content of a file sent by {@link #serializeContent(FriendlyByteBuf, int)}.
+     *
+     * @param entry  The matching local entry, or {@code null} if the file is unknown on the receiving side
+     * @param id     The ID of the file as it was sent
+     * @param hash   The hash of the entire file on the sending side
+     * @param offset The position in the file where the sent content starts
+     * @param length The number of content bytes that follow the header
+     */
+    record ContentHeader(AutoFileSyncEntry entry, AutoSyncID id, FileHash hash, int offset, int length) {
+    }
+
+    protected void serializeContentID(FriendlyByteBuf buf) {
+    }
+
+    /**
+     * Writes the ID and hash of the file, followed by its content, in the layout used by
+     * {@link SendFiles#RESUMABLE_DESCRIPTOR}.
+     *
+     * @param buf    The buffer to write to
+     * @param offset The first byte of the file that should get sent. This is used to resume interrupted
+     *               transfers (see {@link PartialFileStore})
+     * @return The number of content bytes that were written
+     */
+    public int serializeContent(FriendlyByteBuf buf, int offset) {
+        DataHandler.writeString(buf, modID);
+        DataHandler.writeString(buf, uniqueID);
+        serializeContentID(buf);
+        getFileHash().hash.serialize(buf);
+        return serializeFileRegion(buf, offset);
+    }
+
+    public static ContentHeader deserializeContentHeader(FriendlyByteBuf buf) {
+        final String modID = DataHandler.readString(buf);
+        final String uniqueID = DataHandler.readString(buf);
+
+        AutoFileSyncEntry entry;
+        if (AutoSyncID.ForDirectFileRequest.MOD_ID.equals(modID)) {
+            entry = AutoFileSyncEntry.ForDirectFileRequest.finishDeserializeContent(uniqueID, buf);
+        } else if (AutoSyncID.ForModFileRequest.UNIQUE_ID.equals(uniqueID)) {
+            entry = AutoFileSyncEntry.ForModFileRequest.finishDeserializeContent(modID, buf);
+        } else {
+            entry = AutoFileSyncEntry.findMatching(modID, uniqueID);
+        }
+
+        final FileHash hash = FileHash.deserialize(buf);
+        final int offset = buf.readInt();
+        final int length = buf.readInt();
+        return new ContentHeader(entry, new AutoSyncID(modID, uniqueID), hash, offset, length);
+    }
+
 
     public void serialize(FriendlyByteBuf buf) {
         getFileHash().serialize(buf);
@@ -209,10 +339,44 @@ class AutoFileSyncEntry extends AutoSyncID {
             return 0;
         }
 
-        byte[] content = getContent();
-        buf.writeInt(content.length);
-        buf.writeByteArray(content);
-        return content.length;
+        final ByteBuf content = getContentBuffer();
+        final int length = content.readableBytes();
+        buf.writeInt(length);
+
+        //same layout as FriendlyByteBuf#writeByteArray
+        buf.writeVarInt(length);
+        if (buf instanceof FileContentByteBuf fileBuf) {
+            fileBuf.appendContent(content);
+        } else {
+            buf.writeBytes(content);
+            content.release();
+        }
+        return length;
+    }
+
+    private int serializeFileRegion(FriendlyByteBuf buf, int offset) {
+        final ByteBuf content;
+        if (!PathUtil.isChildOf(PathUtil.GAME_FOLDER, fileName.toPath())) {
+            BCLib.LOGGER.error(fileName + " is not within game folder " + PathUtil.GAME_FOLDER + ". Pretending it does not exist.");
+            content = Unpooled.EMPTY_BUFFER;
+        } else {
+            content = getContentBuffer();
+        }
+
+        //a mapped buffer is only read from disk when accessed, so skipping is free
+        offset = Math.max(0, Math.min(offset, content.readableBytes()));
+        content.skipBytes(offset);
+        final int length = content.readableBytes();
+        buf.writeInt(offset);
+        buf.writeInt(length);
+
+        if (buf instanceof FileContentByteBuf fileBuf) {
+            fileBuf.appendContent(content);
+        } else {
+            buf.writeBytes(content);
+            content.release();
+        }
+        return length;
     }
 
     private static byte[] deserializeFileContent(FriendlyByteBuf buf) {
@@ -237,11 +401,14 @@ class AutoFileSyncEntry extends AutoSyncID {
                     final File absPath = desc.localFolder.resolve(subFile.relPath)
                                                          .normalize()
                                                          .toFile();
-                    return new AutoFileSyncEntry.ForDirectFileRequest(
+                    final AutoFileSyncEntry entry = new AutoFileSyncEntry.ForDirectFileRequest(
                             freq.uniqueID,
                             new File(subFile.relPath),
                             absPath
                     );
+                    //the sync folder already knows the hash, no need to read the file again
+                    entry.hash = SyncFileHash.create(entry.modID, entry.uniqueID, subFile.hash);
+                    return entry;
                 }
             }
             return null;
@@ -12,8 +12,8 @@ import net.fabricmc.loader.api.FabricLoader;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 
 public class AutoSync {
@@ -95,6 +95,7 @@ public class AutoSync {
             BCLib.LOGGER.error(fileName + " is outside of Game Folder " + PathUtil.GAME_FOLDER);
         } else {
             autoSyncFiles.add(new AutoFileSyncEntry(modID, fileName, requestContent, needTransfer));
+            HelloClient.invalidateServerPayload();
         }
     }
 
@@ -124,6 +125,7 @@ public class AutoSync {
             BCLib.LOGGER.error(fileName + " is outside of Game Folder " + PathUtil.GAME_FOLDER);
         } else {
             autoSyncFiles.add(new AutoFileSyncEntry(modID, uniqueID, fileName, requestContent, needTransfer));
+            HelloClient.invalidateServerPayload();
         }
     }
 
@@ -141,7 +143,8 @@ public class AutoSync {
 
 
     // ##### Folder Syncing
-    static final List<SyncFolderDescriptor> syncFolderDescriptions = Arrays.asList(SYNC_FOLDER);
+    //read by the network and watcher threads while mods may still register folders
+    static final List<SyncFolderDescriptor> syncFolderDescriptions = new CopyOnWriteArrayList<>(List.of(SYNC_FOLDER));
 
     private List<String> syncFolderContent;
 
@@ -154,9 +157,21 @@ public class AutoSync {
 
     private static boolean didRegisterAdditionalMods = false;
 
+    /**
+     * Starts watching all registered Sync-Folders for changes, if enabled in the server config.
+     * <p>
+     * This is automatically called by BCLib when the server side of the DataExchange is initialized.
+     */
+    public static void startSyncFolderWatcher() {
+        if (Configs.SERVER_CONFIG.isWatchingSyncFolders()) {
+            SyncFolderWatcher.start(syncFolderDescriptions);
+        }
+    }
+
     //we call this from HelloClient on the Server to prepare transfer
     protected static void loadSyncFolder() {
         if (Configs.SERVER_CONFIG.isOfferingFiles()) {
+            startSyncFolderWatcher();
             syncFolderDescriptions.forEach(desc -> desc.loadCache());
         }
 
@@ -199,6 +214,8 @@ public class AutoSync {
                 BCLib.LOGGER.warning("Tried to override Folder Sync '" + folderID + "' again.");
             } else {
                 syncFolderDescriptions.add(desc);
+                SyncFolderWatcher.add(desc);
+                HelloClient.invalidateServerPayload();
             }
         } else {
             BCLib.LOGGER.error(localBaseFolder + " (from " + folderID + ") is outside the game directory " + PathUtil.GAME_FOLDER + ". Sync is not allowed.");
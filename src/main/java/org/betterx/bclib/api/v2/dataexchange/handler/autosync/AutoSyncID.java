@@ -47,6 +47,11 @@ public class AutoSyncID {
             return new ForDirectFileRequest(uniqueID, fl);
         }
 
+        @Override
+        String getFileKey() {
+            return super.getFileKey() + "/" + relFile;
+        }
+
         @Override
         public String toString() {
             return super.uniqueID + " (" + this.relFile + ")";
@@ -73,6 +78,11 @@ public class AutoSyncID {
             return new ForModFileRequest(modID, version);
         }
 
+        @Override
+        String getFileKey() {
+            return super.getFileKey() + "@" + version;
+        }
+
         @Override
         public String toString() {
             return super.modID + " (v" + this.version + ")";
@@ -107,6 +117,16 @@ public class AutoSyncID {
         return modID + "." + uniqueID;
     }
 
+    /**
+     * A key that identifies the referenced file on the receiving side. Unlike {@link #equals(Object)}, this
+     * also includes the information subclasses use to locate the file (like the relative path or the version).
+     *
+     * @return The key
+     */
+    String getFileKey() {
+        return modID + "." + uniqueID;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
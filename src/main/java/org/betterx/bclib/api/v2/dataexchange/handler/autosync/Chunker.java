@@ -4,11 +4,13 @@ import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.dataexchange.BaseDataHandler;
 import org.betterx.bclib.api.v2.dataexchange.DataHandler;
 import org.betterx.bclib.api.v2.dataexchange.DataHandlerDescriptor;
+import org.betterx.bclib.api.v2.dataexchange.SyncMetrics;
 import org.betterx.bclib.api.v2.dataexchange.handler.DataExchange;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.ProgressListener;
 
@@ -16,6 +18,8 @@ import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 
+import io.netty.buffer.Unpooled;
+
 import java.util.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -27,6 +31,22 @@ import org.jetbrains.annotations.Nullable;
  * and assemble the original message from those chunks on the client.
  */
 public class Chunker extends DataHandler.FromServer {
+    /**
+     * A {@link DataHandler.FromServer} that implements this interface is handed the payload of a chunked message
+     * while it arrives, instead of only after all Chunks were assembled.
+     * <p>
+     * Bytes that are not read remain in the buffer and are presented again with the next call. Once all Chunks
+     * arrived, the same handler instance receives the remaining bytes through
+     * {@link DataHandler.FromServer#receiveFromMemory(FriendlyByteBuf)}.
+     */
+    public interface StreamingReceiver {
+        /**
+         * Called on the network thread whenever new data arrived in order.
+         *
+         * @param buf The data that was received (and not read) so far
+         */
+        void receivePartial(FriendlyByteBuf buf);
+    }
 
     /**
      * Responsible for assembling the original ByteBuffer created by {@link PacketChunkSender} on the
@@ -40,6 +60,8 @@ public class Chunker extends DataHandler.FromServer {
         private final FriendlyByteBuf networkedBuf;
         @Nullable
         private final DataHandlerDescriptor descriptor;
+        @Nullable
+        private final BaseDataHandler handler;
 
         private static final List<PacketChunkReceiver> active = new ArrayList<>(1);
 
@@ -66,6 +88,7 @@ public class Chunker extends DataHandler.FromServer {
             this.chunkCount = chunkCount;
             networkedBuf = PacketByteBufs.create();
             this.descriptor = descriptor;
+            this.handler = descriptor == null ? null : descriptor.INSTANCE.get();
         }
 
         @Override
@@ -105,15 +128,19 @@ public class Chunker extends DataHandler.FromServer {
             }
             input.readBytes(networkedBuf, size);
             input.clear();
+
+            if (handler instanceof StreamingReceiver streaming) {
+                streaming.receivePartial(networkedBuf);
+                networkedBuf.discardReadBytes();
+            }
         }
 
         protected void onFinish() {
             incomingBuffer.clear();
             incomingBuffer = null;
 
-            final BaseDataHandler baseHandler = descriptor.INSTANCE.get();
-            if (baseHandler instanceof DataHandler.FromServer handler) {
-                handler.receiveFromMemory(networkedBuf);
+            if (handler instanceof DataHandler.FromServer fromServer) {
+                fromServer.receiveFromMemory(networkedBuf);
             }
         }
 
@@ -154,17 +181,33 @@ public class Chunker extends DataHandler.FromServer {
     /**
      * Responsible for splitting an outgoing ByteBuffer into several smaller Chunks and
      * send them as seperate messages to the {@link Chunker}-Channel
+     * <p>
+     * The header and the first {@link #CHUNKS_PER_TICK} Chunks are sent immediately, the remaining
+     * Chunks are sent in batches of {@link #CHUNKS_PER_TICK} on the following server ticks. Chunks
+     * are slices of the original buffer, so when the buffer is backed by memory mapped files (as created by
+     * {@link SendFiles}), the data is only read from disk as the transfer advances.
      */
     public static class PacketChunkSender {
+        /**
+         * Number of Chunks that are handed to the network layer per server tick and transfer
+         */
+        public static final int CHUNKS_PER_TICK = 4;
+        private static final List<PacketChunkSender> active = new LinkedList<>();
+
         private final FriendlyByteBuf networkedBuf;
+        private final int startIndex;
         public final UUID uuid;
         public final int chunkCount;
         public final int size;
         public final ResourceLocation origin;
+        private List<ServerPlayer> players;
+        private int nextSerialNo = -1;
+        private long startNanos;
 
         public PacketChunkSender(FriendlyByteBuf buf, ResourceLocation origin) {
             networkedBuf = buf;
 
+            startIndex = buf.readerIndex();
             size = buf.readableBytes();
             chunkCount = (int) Math.ceil((double) size / MAX_PAYLOAD_SIZE);
             uuid = UUID.randomUUID();
@@ -173,15 +216,89 @@ public class Chunker extends DataHandler.FromServer {
 
         public void sendChunks(Collection<ServerPlayer> players) {
             BCLib.LOGGER.info("Sending Request in " + chunkCount + " Packet-Chunks");
-            for (int i = -1; i < chunkCount; i++) {
-                Chunker c = new Chunker(i, uuid, networkedBuf, chunkCount, origin);
-                FriendlyByteBuf buf = PacketByteBufs.create();
-                c.serializeDataOnServer(buf);
+            this.players = new ArrayList<>(players);
+            this.startNanos = SyncMetrics.start();
 
+            //send the header-chunk together with the first batch
+            sendNextChunks(CHUNKS_PER_TICK + 1);
+            if (!isDone()) {
+                active.add(this);
+            }
+        }
+
+        private void finish() {
+            if (nextSerialNo < chunkCount) return;
+            SyncMetrics.record(SyncMetrics.Phase.TRANSFER, startNanos, (long) size * players.size());
+            for (ServerPlayer player : players) {
+                SyncMetrics.recordPlayerTransfer(player, size, startNanos);
+            }
+        }
+
+        private boolean isDone() {
+            return nextSerialNo >= chunkCount || players.isEmpty();
+        }
+
+        private void sendNextChunks(int count) {
+            players.removeIf(ServerPlayer::hasDisconnected);
+            for (int i = 0; i < count && !isDone(); i++, nextSerialNo++) {
+                final FriendlyByteBuf buf = createChunk(nextSerialNo);
                 for (ServerPlayer player : players) {
                     ServerPlayNetworking.send(player, DESCRIPTOR.IDENTIFIER, buf);
                 }
             }
+            if (isDone()) finish();
+        }
+
+        private FriendlyByteBuf createChunk(int serialNo) {
+            FriendlyByteBuf buf = PacketByteBufs.create();
+            Chunker c = new Chunker(serialNo, uuid, networkedBuf, chunkCount, origin);
+            if (serialNo == -1) {
+                c.serializeDataOnServer(buf);
+                return buf;
+            }
+
+            //only write the header, the payload is a (copy free) slice of the original buffer
+            c.serializeHeader(buf);
+            final int offset = serialNo * MAX_PAYLOAD_SIZE;
+            final int payloadSize = Math.min(MAX_PAYLOAD_SIZE, size - offset);
+            buf.writeInt(payloadSize);
+            return new FriendlyByteBuf(Unpooled.wrappedBuffer(
+                    buf,
+                    networkedBuf.slice(startIndex + offset, payloadSize)
+            ));
+        }
+
+        /**
+         * Sends the next batch of Chunks for all active transfers.
+         * <p>
+         * This is automatically called by BCLib at the end of every server tick.
+         *
+         * @param server The server that is ticking
+         */
+        public static void tick(MinecraftServer server) {
+            if (active.isEmpty()) return;
+            active.removeIf(sender -> {
+                sender.sendNextChunks(CHUNKS_PER_TICK);
+                return sender.isDone();
+            });
+        }
+
+        /**
+         * @return The number of chunked messages that are currently sent
+         */
+        public static int activeTransfers() {
+            return active.size();
+        }
+
+        /**
+         * @return The number of Chunks that still need to be sent (for all active transfers)
+         */
+        public static int queuedChunks() {
+            int count = 0;
+            for (PacketChunkSender sender : active) {
+                count += sender.chunkCount - sender.nextSerialNo;
+            }
+            return count;
         }
     }
 
@@ -221,13 +338,17 @@ public class Chunker extends DataHandler.FromServer {
     }
 
 
-    @Override
-    protected void serializeDataOnServer(FriendlyByteBuf buf) {
+    private void serializeHeader(FriendlyByteBuf buf) {
         //Sending Header. Make sure to change HEADER_SIZE if you change this!
         buf.writeByte(0);
         buf.writeLong(uuid.getMostSignificantBits());
         buf.writeLong(uuid.getLeastSignificantBits());
         buf.writeInt(serialNo);
+    }
+
+    @Override
+    protected void serializeDataOnServer(FriendlyByteBuf buf) {
+        serializeHeader(buf);
 
         //sending Payload
         if (serialNo == -1) {
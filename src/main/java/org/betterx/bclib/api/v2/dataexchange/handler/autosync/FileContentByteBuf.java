@@ -0,0 +1,41 @@
+package org.betterx.bclib.api.v2.dataexchange.handler.autosync;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * A {@link FriendlyByteBuf} that references appended file content instead of copying it.
+ * <p>
+ * The content buffers (usually memory mapped files, see {@link AutoFileSyncEntry#getContentBuffer()}) become
+ * components of an underlying {@link CompositeByteBuf}. All other writes behave like on a regular buffer.
+ */
+class FileContentByteBuf extends FriendlyByteBuf {
+    //space we reserve for the regular writes that follow an appended file
+    private static final int TRAILING_CAPACITY = 1024;
+    private final CompositeByteBuf composite;
+
+    FileContentByteBuf() {
+        this(Unpooled.compositeBuffer(Integer.MAX_VALUE));
+    }
+
+    private FileContentByteBuf(CompositeByteBuf composite) {
+        super(composite);
+        this.composite = composite;
+    }
+
+    /**
+     * Appends the readable bytes of {@code content} without copying them. This buffer takes over ownership of
+     * {@code content}.
+     *
+     * @param content The content to append
+     */
+    void appendContent(ByteBuf content) {
+        //drop unused space, otherwise the new component would not start at the writer index
+        composite.capacity(composite.writerIndex());
+        composite.addComponent(true, content);
+        composite.capacity(composite.writerIndex() + TRAILING_CAPACITY);
+    }
+}
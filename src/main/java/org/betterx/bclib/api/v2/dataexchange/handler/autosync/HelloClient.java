@@ -22,6 +22,7 @@ import net.minecraft.resources.ResourceLocation;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.fabricmc.loader.api.metadata.ModEnvironment;
 
@@ -78,18 +79,53 @@ public class HelloClient extends DataHandler.FromServer {
 
     @Override
     protected void serializeDataOnServer(FriendlyByteBuf buf) {
+        final FriendlyByteBuf payload = getServerPayload();
+        BCLib.LOGGER.info("Sending Hello to Client. (server=" + getBCLibVersion() + ")");
+
+        //the cached payload is shared between all players, so we must not touch its reader index
+        buf.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+    }
+
+    private static volatile FriendlyByteBuf serverPayload;
+
+    /**
+     * Discards the precomputed handshake payload of the server.
+     * <p>
+     * The payload is rebuilt the next time a player joins. This needs to be called whenever the list of offered
+     * mods, files, sync folders or the server config changes.
+     */
+    public static void invalidateServerPayload() {
+        serverPayload = null;
+        AutoSync.getAutoSyncFiles().forEach(AutoFileSyncEntry::invalidateHash);
+    }
+
+    private static FriendlyByteBuf getServerPayload() {
+        FriendlyByteBuf payload = serverPayload;
+        if (payload == null) {
+            synchronized (HelloClient.class) {
+                payload = serverPayload;
+                if (payload == null) {
+                    payload = PacketByteBufs.create();
+                    buildServerPayload(payload);
+                    serverPayload = payload;
+                }
+            }
+        }
+        return payload;
+    }
+
+    private static void buildServerPayload(FriendlyByteBuf buf) {
         final String vbclib = getBCLibVersion();
-        BCLib.LOGGER.info("Sending Hello to Client. (server=" + vbclib + ")");
+        BCLib.LOGGER.info("Building Hello for Clients. (server=" + vbclib + ")");
 
         //write BCLibVersion (=protocol version)
         buf.writeInt(ModUtil.convertModVersion(vbclib));
 
         if (Configs.SERVER_CONFIG.isOfferingMods() || Configs.SERVER_CONFIG.isOfferingInfosForMods()) {
             List<String> mods = DataExchangeAPI.registeredMods();
-            final List<String> inmods = mods;
+            final Set<String> inmods = new HashSet<>(mods);
             if (Configs.SERVER_CONFIG.isOfferingAllMods() || Configs.SERVER_CONFIG.isOfferingInfosForMods()) {
-                mods = new ArrayList<>(inmods.size());
-                mods.addAll(inmods);
+                mods = new ArrayList<>(mods);
                 mods.addAll(ModUtil
                         .getMods()
                         .entrySet()
@@ -101,9 +137,10 @@ public class HelloClient extends DataHandler.FromServer {
                 );
             }
 
+            final Set<String> excludedMods = new HashSet<>(Configs.SERVER_CONFIG.get(ServerConfig.EXCLUDED_MODS));
             mods = mods
                     .stream()
-                    .filter(entry -> !Configs.SERVER_CONFIG.get(ServerConfig.EXCLUDED_MODS).contains(entry))
+                    .filter(entry -> !excludedMods.contains(entry))
                     .collect(Collectors.toList());
 
             //write Plugin Versions
@@ -539,6 +576,6 @@ public class HelloClient extends DataHandler.FromServer {
         progress.progressStart(Component.translatable("message.bclib.filesync.progress.stage.empty"));
         ChunkerProgress.setProgressScreen(progress);
 
-        DataExchangeAPI.send(new RequestFiles(files));
+        DataExchangeAPI.send(new RequestFiles(files, RequestFiles.canResume()));
     }
 }
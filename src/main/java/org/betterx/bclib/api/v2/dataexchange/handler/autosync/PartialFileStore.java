@@ -0,0 +1,192 @@
+package org.betterx.bclib.api.v2.dataexchange.handler.autosync;
+
+import org.betterx.bclib.BCLib;
+import org.betterx.bclib.api.v2.dataexchange.FileHash;
+import org.betterx.bclib.api.v2.dataexchange.SyncMetrics;
+import org.betterx.worlds.together.util.PathUtil;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps partially received AutoSync files on disk, so an interrupted transfer can be resumed.
+ * <p>
+ * A partial file is identified by the {@link AutoSyncID#getFileKey()} of the transfered file and the
+ * {@link FileHash} the server reported for it, which together correspond to the
+ * {@link org.betterx.bclib.api.v2.dataexchange.SyncFileHash} of the file on the server. Received data is
+ * appended as it arrives. Once a file is complete, its hash is verified before the file is moved to its final
+ * location.
+ */
+class PartialFileStore {
+    /**
+     * Information the client sends with a file request, so the server can continue a previous transfer.
+     *
+     * @param hash   The hash of the file the partial data belongs to
+     * @param offset The number of bytes the client already received
+     */
+    record ResumeInfo(FileHash hash, int offset) {
+        void serialize(FriendlyByteBuf buf) {
+            hash.serialize(buf);
+            buf.writeInt(offset);
+        }
+
+        static ResumeInfo deserialize(FriendlyByteBuf buf) {
+            final FileHash hash = FileHash.deserialize(buf);
+            final int offset = buf.readInt();
+            return new ResumeInfo(hash, offset);
+        }
+    }
+
+    public static final Path PARTIAL_FOLDER = PathUtil.GAME_FOLDER.resolve("bclib-partial").normalize();
+    private static final String PARTIAL_EXTENSION = ".part";
+    static final String TEMP_EXTENSION = ".bclib-tmp";
+
+    private static String keyPrefix(AutoSyncID aid) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            md.update(aid.getFileKey().getBytes(StandardCharsets.UTF_8));
+            return FileHash.toHexString(md.digest()) + "_";
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(aid.getFileKey().hashCode()) + "_";
+        }
+    }
+
+    private static Path partialPath(AutoSyncID aid, FileHash hash) {
+        return PARTIAL_FOLDER.resolve(keyPrefix(aid) + hash + PARTIAL_EXTENSION);
+    }
+
+    private static File[] partialFiles(AutoSyncID aid) {
+        final String prefix = keyPrefix(aid);
+        final File[] files = PARTIAL_FOLDER.toFile()
+                                           .listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(
+                                                   PARTIAL_EXTENSION));
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * Looks for partial data of a file.
+     *
+     * @param aid The file that is requested
+     * @return The state of a previous transfer, or {@code null} if nothing was received yet
+     */
+    @Nullable
+    static ResumeInfo getResumeInfo(AutoSyncID aid) {
+        for (File file : partialFiles(aid)) {
+            final String name = file.getName();
+            final String hashString = name.substring(
+                    keyPrefix(aid).length(),
+                    name.length() - PARTIAL_EXTENSION.length()
+            );
+            final FileHash hash = FileHash.fromString(hashString);
+            final long size = file.length();
+            if (hash != null && size > 0 && size <= hash.size) {
+                return new ResumeInfo(hash, (int) size);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prepares the partial file that receives the content of a file.
+     *
+     * @param aid    The file that is received
+     * @param hash   The hash of the entire file on the server
+     * @param offset The position in the file where the received content starts
+     * @return The partial file to append to, or {@code null} if the existing data does not match {@code offset}
+     */
+    @Nullable
+    static Path begin(AutoSyncID aid, FileHash hash, int offset) {
+        final Path path = partialPath(aid, hash);
+        try {
+            if (offset == 0) {
+                //the server started over, so any older data for this file is useless
+                for (File file : partialFiles(aid)) {
+                    Files.deleteIfExists(file.toPath());
+                }
+                Files.createDirectories(PARTIAL_FOLDER);
+                Files.write(path, new byte[0]);
+                return path;
+            }
+
+            if (Files.exists(path) && Files.size(path) == offset) {
+                return path;
+            }
+            BCLib.LOGGER.error("Unable to resume " + aid + " at " + offset + ". Partial data is missing.");
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            BCLib.LOGGER.error("Unable to prepare partial file for " + aid + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Appends data to a partial file.
+     *
+     * @param path   The partial file, as returned by {@link #begin(AutoSyncID, FileHash, int)}
+     * @param data   The buffer to read from
+     * @param length The number of bytes to read
+     * @return {@code false} if the data could not be written
+     */
+    static boolean append(Path path, ByteBuf data, int length) {
+        final long start = SyncMetrics.start();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            int remaining = length;
+            while (remaining > 0) {
+                remaining -= data.readBytes(channel, remaining);
+            }
+            SyncMetrics.record(SyncMetrics.Phase.WRITE, start, length);
+            return true;
+        } catch (IOException e) {
+            BCLib.LOGGER.error("Unable to write partial file " + path + ": " + e.getMessage());
+            data.skipBytes(Math.min(length, data.readableBytes()));
+            return false;
+        }
+    }
+
+    /**
+     * Tests if a completely received file matches the hash reported by the server. Files that do not match are
+     * removed.
+     *
+     * @param path The partial file
+     * @param hash The hash of the file on the server
+     * @return {@code true} if the content is valid
+     */
+    static boolean verify(Path path, FileHash hash) {
+        final FileHash localHash = FileHash.create(path.toFile());
+        if (hash.equals(localHash)) return true;
+
+        BCLib.LOGGER.error("Received file " + path + " does not match the hash of the server (" + localHash + " != " + hash + ")");
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            BCLib.LOGGER.error("Unable to delete " + path + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Moves a file to its final location, replacing the target in a single step where the filesystem supports
+     * it.
+     *
+     * @param source The file to move
+     * @param target The final location
+     * @throws IOException If the file could not be moved
+     */
+    static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -12,12 +12,12 @@ import net.minecraft.world.entity.player.Player;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class RequestFiles extends DataHandler.FromClient {
     public static final DataHandlerDescriptor DESCRIPTOR = new DataHandlerDescriptor(
@@ -29,17 +29,54 @@ public class RequestFiles extends DataHandler.FromClient {
             false,
             false
     );
+
+    /**
+     * Same request as {@link #DESCRIPTOR}, but the client also tells the server which part of each file it
+     * already received in an earlier attempt, and the server answers with {@link SendFiles#RESUMABLE_DESCRIPTOR}.
+     * <p>
+     * Older BCLib versions do not know this channel, so it is only used when the server registered it (see
+     * {@link #canResume()}). Otherwise the files are requested through {@link #DESCRIPTOR} in the original layout.
+     */
+    public static final DataHandlerDescriptor RESUMABLE_DESCRIPTOR = new DataHandlerDescriptor(
+            new ResourceLocation(
+                    BCLib.MOD_ID,
+                    "request_files_resumable"
+            ),
+            () -> new RequestFiles(null, true),
+            false,
+            false
+    );
     static String currentToken = "";
 
     protected List<AutoSyncID> files;
+    private final boolean resumable;
+    private List<PartialFileStore.ResumeInfo> resume;
 
     private RequestFiles() {
         this(null);
     }
 
     public RequestFiles(List<AutoSyncID> files) {
-        super(DESCRIPTOR.IDENTIFIER);
+        this(files, false);
+    }
+
+    /**
+     * @param files     The files to request
+     * @param resumable {@code true} if the request should be sent through {@link #RESUMABLE_DESCRIPTOR}
+     */
+    public RequestFiles(List<AutoSyncID> files, boolean resumable) {
+        super(resumable ? RESUMABLE_DESCRIPTOR.IDENTIFIER : DESCRIPTOR.IDENTIFIER);
         this.files = files;
+        this.resumable = resumable;
+    }
+
+    /**
+     * @return {@code true} if the server we are connected to accepts requests through
+     * {@link #RESUMABLE_DESCRIPTOR}
+     */
+    @Environment(EnvType.CLIENT)
+    public static boolean canResume() {
+        return ClientPlayNetworking.canSend(RESUMABLE_DESCRIPTOR.IDENTIFIER);
     }
 
     @Environment(EnvType.CLIENT)
@@ -62,6 +99,12 @@ public class RequestFiles extends DataHandler.FromClient {
 
         for (AutoSyncID a : files) {
             a.serializeData(buf);
+            if (!resumable) continue;
+
+            //tell the server how much of the file we already received in an earlier attempt
+            final PartialFileStore.ResumeInfo info = PartialFileStore.getResumeInfo(a);
+            buf.writeBoolean(info != null);
+            if (info != null) info.serialize(buf);
         }
     }
 
@@ -72,14 +115,19 @@ public class RequestFiles extends DataHandler.FromClient {
         receivedToken = readString(buf);
         int size = buf.readInt();
         files = new ArrayList<>(size);
+        resume = resumable ? new ArrayList<>(size) : null;
 
         if (Configs.MAIN_CONFIG.verboseLogging())
             BCLib.LOGGER.info("Client requested " + size + " Files:");
         for (int i = 0; i < size; i++) {
             AutoSyncID asid = AutoSyncID.deserializeData(buf);
+            final PartialFileStore.ResumeInfo info = resumable && buf.readBoolean()
+                    ? PartialFileStore.ResumeInfo.deserialize(buf)
+                    : null;
             files.add(asid);
+            if (resumable) resume.add(info);
             if (Configs.MAIN_CONFIG.verboseLogging())
-                BCLib.LOGGER.info("	- " + asid);
+                BCLib.LOGGER.info("	- " + asid + (info != null ? " (resuming at " + info.offset() + ")" : ""));
         }
 
 
@@ -92,12 +140,30 @@ public class RequestFiles extends DataHandler.FromClient {
             return;
         }
 
-        List<AutoFileSyncEntry> syncEntries = files.stream()
-                                                   .map(asid -> AutoFileSyncEntry.findMatching(asid))
-                                                   .filter(e -> e != null)
-                                                   .collect(Collectors.toList());
+        List<AutoFileSyncEntry> syncEntries = new ArrayList<>(files.size());
+        if (!resumable) {
+            for (AutoSyncID asid : files) {
+                final AutoFileSyncEntry e = AutoFileSyncEntry.findMatching(asid);
+                if (e != null) syncEntries.add(e);
+            }
+
+            reply(new SendFiles(syncEntries, receivedToken), server);
+            return;
+        }
+
+        List<Integer> offsets = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            final AutoFileSyncEntry e = AutoFileSyncEntry.findMatching(files.get(i));
+            if (e == null) continue;
+
+            //only resume if the client received a part of the file we are about to send
+            final PartialFileStore.ResumeInfo info = resume.get(i);
+            final boolean canResume = info != null && info.hash().equals(e.getFileHash().hash);
+            syncEntries.add(e);
+            offsets.add(canResume ? info.offset() : 0);
+        }
 
-        reply(new SendFiles(syncEntries, receivedToken), server);
+        reply(new SendFiles(syncEntries, offsets, receivedToken), server);
     }
 
     public static void newToken() {
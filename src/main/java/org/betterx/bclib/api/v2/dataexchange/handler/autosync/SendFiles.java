@@ -3,6 +3,7 @@ package org.betterx.bclib.api.v2.dataexchange.handler.autosync;
 import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.dataexchange.DataHandler;
 import org.betterx.bclib.api.v2.dataexchange.DataHandlerDescriptor;
+import org.betterx.bclib.api.v2.dataexchange.SyncMetrics;
 import org.betterx.bclib.client.gui.screens.ConfirmRestartScreen;
 import org.betterx.bclib.config.Configs;
 import org.betterx.bclib.util.Pair;
@@ -17,15 +18,16 @@ import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 
+import io.netty.handler.codec.DecoderException;
+
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-public class SendFiles extends DataHandler.FromServer {
+public class SendFiles extends DataHandler.FromServer implements Chunker.StreamingReceiver {
     public static final DataHandlerDescriptor DESCRIPTOR = new DataHandlerDescriptor(
             new ResourceLocation(
                     BCLib.MOD_ID,
@@ -36,7 +38,23 @@ public class SendFiles extends DataHandler.FromServer {
             false
     );
 
+    /**
+     * Answer to {@link RequestFiles#RESUMABLE_DESCRIPTOR}. Each file is preceded by its hash and the region of the
+     * file that is sent, and the content is written to a {@link PartialFileStore} while it arrives.
+     */
+    public static final DataHandlerDescriptor RESUMABLE_DESCRIPTOR = new DataHandlerDescriptor(
+            new ResourceLocation(
+                    BCLib.MOD_ID,
+                    "send_files_resumable"
+            ),
+            () -> new SendFiles(null, null, ""),
+            false,
+            false
+    );
+
     protected List<AutoFileSyncEntry> files;
+    protected List<Integer> offsets;
+    private final boolean resumable;
     private String token;
 
     public SendFiles() {
@@ -46,6 +64,24 @@ public class SendFiles extends DataHandler.FromServer {
     public SendFiles(List<AutoFileSyncEntry> files, String token) {
         super(DESCRIPTOR.IDENTIFIER);
         this.files = files;
+        this.offsets = null;
+        this.resumable = false;
+        this.token = token;
+    }
+
+    /**
+     * Creates a message that is sent through {@link #RESUMABLE_DESCRIPTOR}.
+     *
+     * @param files   The files to send
+     * @param offsets For each file, the position where the transfer should start (or {@code null} to send all
+     *                files completely). Used to resume transfers that were interrupted.
+     * @param token   The token of the {@link RequestFiles}-Message we are answering
+     */
+    public SendFiles(List<AutoFileSyncEntry> files, List<Integer> offsets, String token) {
+        super(RESUMABLE_DESCRIPTOR.IDENTIFIER);
+        this.files = files;
+        this.offsets = offsets;
+        this.resumable = true;
         this.token = token;
     }
 
@@ -59,11 +95,19 @@ public class SendFiles extends DataHandler.FromServer {
         return true;
     }
 
+    @Override
+    protected FriendlyByteBuf createOutgoingBuffer() {
+        //reference the file content instead of copying it into the buffer
+        return new FileContentByteBuf();
+    }
+
     @Override
     protected void serializeDataOnServer(FriendlyByteBuf buf) {
-        List<AutoFileSyncEntry> existingFiles = files.stream()
-                                                     .filter(e -> e != null && e.fileName != null && e.fileName.exists())
-                                                     .collect(Collectors.toList());
+        List<Integer> existingFiles = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            final AutoFileSyncEntry e = files.get(i);
+            if (e != null && e.fileName != null && e.fileName.exists()) existingFiles.add(i);
+        }
 		/*
 		//this will try to send a file that was not registered or requested by the client
 		existingFiles.add(new AutoFileSyncEntry("none", new File("D:\\MinecraftPlugins\\BetterNether\\run\\server.properties"),true,(a, b, content) -> {
@@ -83,78 +127,265 @@ public class SendFiles extends DataHandler.FromServer {
 
         if (Configs.MAIN_CONFIG.verboseLogging())
             BCLib.LOGGER.info("Sending " + existingFiles.size() + " Files to Client:");
-        for (AutoFileSyncEntry entry : existingFiles) {
-            int length = entry.serializeContent(buf);
+        for (int i : existingFiles) {
+            final AutoFileSyncEntry entry = files.get(i);
+            if (!resumable) {
+                int length = entry.serializeContent(buf);
+                if (Configs.MAIN_CONFIG.verboseLogging())
+                    BCLib.LOGGER.info("	- " + entry + " (" + PathUtil.humanReadableFileSize(length) + ")");
+                continue;
+            }
+
+            final int offset = offsets == null ? 0 : offsets.get(i);
+            int length = entry.serializeContent(buf, offset);
             if (Configs.MAIN_CONFIG.verboseLogging())
-                BCLib.LOGGER.info("	- " + entry + " (" + PathUtil.humanReadableFileSize(length) + ")");
+                BCLib.LOGGER.info("	- " + entry + " (" + PathUtil.humanReadableFileSize(length) + (offset > 0
+                        ? ", resuming at " + PathUtil.humanReadableFileSize(offset)
+                        : "") + ")");
         }
     }
 
-    private List<Pair<AutoFileSyncEntry, byte[]>> receivedFiles;
+    private enum ReceiveState {
+        TOKEN, FILE_COUNT, FILE_HEADER, FILE_CONTENT, DONE, IGNORE
+    }
+
+    private final List<Pair<AutoFileSyncEntry, Path>> receivedFiles = new ArrayList<>();
+    private final List<Pair<AutoFileSyncEntry, byte[]>> receivedContent = new ArrayList<>();
+    private ReceiveState receiveState = ReceiveState.TOKEN;
+    private int remainingFiles;
+    private AutoFileSyncEntry.ContentHeader currentHeader;
+    private Path currentPartial;
+    private int remainingContent;
+
+    @Environment(EnvType.CLIENT)
+    private static boolean isAcceptingAnything() {
+        return Configs.CLIENT_CONFIG.isAcceptingConfigs() || Configs.CLIENT_CONFIG.isAcceptingFiles() || Configs.CLIENT_CONFIG.isAcceptingMods();
+    }
+
+    @Environment(EnvType.CLIENT)
+    @Override
+    public void receivePartial(FriendlyByteBuf buf) {
+        //the original layout is only read once the message is complete
+        if (resumable && isAcceptingAnything()) {
+            receiveFiles(buf);
+        }
+    }
 
     @Environment(EnvType.CLIENT)
     @Override
     protected void deserializeIncomingDataOnClient(FriendlyByteBuf buf, PacketSender responseSender) {
-        if (Configs.CLIENT_CONFIG.isAcceptingConfigs() || Configs.CLIENT_CONFIG.isAcceptingFiles() || Configs.CLIENT_CONFIG.isAcceptingMods()) {
-            token = readString(buf);
-            if (!token.equals(RequestFiles.currentToken)) {
-                RequestFiles.newToken();
-                BCLib.LOGGER.error("Unrequested File Transfer!");
-                receivedFiles = new ArrayList<>(0);
-                return;
-            }
+        if (!isAcceptingAnything()) return;
+        if (!resumable) {
+            receiveContent(buf);
+            return;
+        }
+
+        receiveFiles(buf);
+        if (receiveState != ReceiveState.DONE && receiveState != ReceiveState.IGNORE) {
+            BCLib.LOGGER.error("File Transfer ended unexpectedly. Received data was kept and will be resumed.");
+        }
+    }
+
+    /**
+     * Reads a complete message that was sent through {@link #DESCRIPTOR}.
+     */
+    @Environment(EnvType.CLIENT)
+    private void receiveContent(FriendlyByteBuf buf) {
+        token = readString(buf);
+        if (!token.equals(RequestFiles.currentToken)) {
             RequestFiles.newToken();
+            BCLib.LOGGER.error("Unrequested File Transfer!");
+            return;
+        }
+        RequestFiles.newToken();
 
-            int size = buf.readInt();
-            receivedFiles = new ArrayList<>(size);
-            if (Configs.MAIN_CONFIG.verboseLogging())
-                BCLib.LOGGER.info("Server sent " + size + " Files:");
-            for (int i = 0; i < size; i++) {
-                Triple<AutoFileSyncEntry, byte[], AutoSyncID> p = AutoFileSyncEntry.deserializeContent(buf);
-                if (p.first != null) {
-                    final String type;
-                    if (p.first.isConfigFile() && Configs.CLIENT_CONFIG.isAcceptingConfigs()) {
-                        receivedFiles.add(p);
-                        type = "Accepted Config ";
-                    } else if (p.first instanceof AutoFileSyncEntry.ForModFileRequest && Configs.CLIENT_CONFIG.isAcceptingMods()) {
-                        receivedFiles.add(p);
-                        type = "Accepted Mod ";
-                    } else if (Configs.CLIENT_CONFIG.isAcceptingFiles()) {
-                        receivedFiles.add(p);
-                        type = "Accepted File ";
+        int size = buf.readInt();
+        if (Configs.MAIN_CONFIG.verboseLogging())
+            BCLib.LOGGER.info("Server sent " + size + " Files:");
+        for (int i = 0; i < size; i++) {
+            Triple<AutoFileSyncEntry, byte[], AutoSyncID> p = AutoFileSyncEntry.deserializeContent(buf);
+            if (p.first != null) {
+                final String type;
+                if (p.first.isConfigFile() && Configs.CLIENT_CONFIG.isAcceptingConfigs()) {
+                    receivedContent.add(p);
+                    type = "Accepted Config ";
+                } else if (p.first instanceof AutoFileSyncEntry.ForModFileRequest && Configs.CLIENT_CONFIG.isAcceptingMods()) {
+                    receivedContent.add(p);
+                    type = "Accepted Mod ";
+                } else if (Configs.CLIENT_CONFIG.isAcceptingFiles()) {
+                    receivedContent.add(p);
+                    type = "Accepted File ";
+                } else {
+                    type = "Ignoring ";
+                }
+                if (Configs.MAIN_CONFIG.verboseLogging())
+                    BCLib.LOGGER.info("	- " + type + p.first + " (" + PathUtil.humanReadableFileSize(p.second.length) + ")");
+            } else {
+                if (Configs.MAIN_CONFIG.verboseLogging())
+                    BCLib.LOGGER.error("   - Failed to receive File " + p.third + ", possibly sent from a Mod that is not installed on the client.");
+            }
+        }
+    }
+
+    //tries to read something from the buffer, and rewinds if the data was not yet completely received
+    private static boolean tryRead(FriendlyByteBuf buf, Runnable reader) {
+        buf.markReaderIndex();
+        try {
+            reader.run();
+            return true;
+        } catch (IndexOutOfBoundsException | DecoderException e) {
+            buf.resetReaderIndex();
+            return false;
+        }
+    }
+
+    /**
+     * Processes the incoming data as far as it was received. The content of each file is written to a
+     * {@link PartialFileStore} as it arrives, so an interrupted transfer can be resumed later.
+     */
+    @Environment(EnvType.CLIENT)
+    private void receiveFiles(FriendlyByteBuf buf) {
+        while (true) {
+            switch (receiveState) {
+                case TOKEN -> {
+                    if (!tryRead(buf, () -> token = readString(buf))) return;
+                    if (!token.equals(RequestFiles.currentToken)) {
+                        RequestFiles.newToken();
+                        BCLib.LOGGER.error("Unrequested File Transfer!");
+                        receiveState = ReceiveState.IGNORE;
                     } else {
-                        type = "Ignoring ";
+                        RequestFiles.newToken();
+                        receiveState = ReceiveState.FILE_COUNT;
                     }
+                }
+                case FILE_COUNT -> {
+                    if (buf.readableBytes() < 4) return;
+                    remainingFiles = buf.readInt();
                     if (Configs.MAIN_CONFIG.verboseLogging())
-                        BCLib.LOGGER.info("	- " + type + p.first + " (" + PathUtil.humanReadableFileSize(p.second.length) + ")");
-                } else {
-                    if (Configs.MAIN_CONFIG.verboseLogging())
-                        BCLib.LOGGER.error("   - Failed to receive File " + p.third + ", possibly sent from a Mod that is not installed on the client.");
+                        BCLib.LOGGER.info("Server sent " + remainingFiles + " Files:");
+                    receiveState = remainingFiles > 0 ? ReceiveState.FILE_HEADER : ReceiveState.DONE;
+                }
+                case FILE_HEADER -> {
+                    if (!tryRead(buf, () -> currentHeader = AutoFileSyncEntry.deserializeContentHeader(buf)))
+                        return;
+                    beginFile(currentHeader);
+                    remainingContent = currentHeader.length();
+                    receiveState = ReceiveState.FILE_CONTENT;
+                }
+                case FILE_CONTENT -> {
+                    final int length = Math.min(remainingContent, buf.readableBytes());
+                    if (currentPartial != null) {
+                        if (!PartialFileStore.append(currentPartial, buf, length)) currentPartial = null;
+                    } else {
+                        buf.skipBytes(length);
+                    }
+                    remainingContent -= length;
+                    if (remainingContent > 0) return;
+
+                    finishFile(currentHeader);
+                    remainingFiles--;
+                    receiveState = remainingFiles > 0 ? ReceiveState.FILE_HEADER : ReceiveState.DONE;
+                }
+                case DONE, IGNORE -> {
+                    buf.skipBytes(buf.readableBytes());
+                    return;
                 }
             }
         }
     }
 
+    @Environment(EnvType.CLIENT)
+    private void beginFile(AutoFileSyncEntry.ContentHeader header) {
+        currentPartial = null;
+        final AutoFileSyncEntry entry = header.entry();
+        if (entry == null) {
+            if (Configs.MAIN_CONFIG.verboseLogging())
+                BCLib.LOGGER.error("   - Failed to receive File " + header.id() + ", possibly sent from a Mod that is not installed on the client.");
+            return;
+        }
+
+        final String type;
+        boolean accept = false;
+        if (entry.isConfigFile() && Configs.CLIENT_CONFIG.isAcceptingConfigs()) {
+            accept = true;
+            type = "Accepted Config ";
+        } else if (entry instanceof AutoFileSyncEntry.ForModFileRequest && Configs.CLIENT_CONFIG.isAcceptingMods()) {
+            accept = true;
+            type = "Accepted Mod ";
+        } else if (Configs.CLIENT_CONFIG.isAcceptingFiles()) {
+            accept = true;
+            type = "Accepted File ";
+        } else {
+            type = "Ignoring ";
+        }
+        if (Configs.MAIN_CONFIG.verboseLogging())
+            BCLib.LOGGER.info("	- " + type + entry + " (" + PathUtil.humanReadableFileSize(header.length()) + (header.offset() > 0
+                    ? ", resuming at " + PathUtil.humanReadableFileSize(header.offset())
+                    : "") + ")");
+
+        if (accept) {
+            currentPartial = PartialFileStore.begin(entry, header.hash(), header.offset());
+        }
+    }
+
+    @Environment(EnvType.CLIENT)
+    private void finishFile(AutoFileSyncEntry.ContentHeader header) {
+        if (currentPartial != null && PartialFileStore.verify(currentPartial, header.hash())) {
+            receivedFiles.add(new Pair<>(header.entry(), currentPartial));
+        }
+        currentPartial = null;
+        currentHeader = null;
+    }
+
     @Environment(EnvType.CLIENT)
     @Override
     protected void runOnClientGameThread(Minecraft client) {
-        if (Configs.CLIENT_CONFIG.isAcceptingConfigs() || Configs.CLIENT_CONFIG.isAcceptingFiles() || Configs.CLIENT_CONFIG.isAcceptingMods()) {
+        if (isAcceptingAnything()) {
             BCLib.LOGGER.info("Writing Files:");
 
-            for (Pair<AutoFileSyncEntry, byte[]> entry : receivedFiles) {
+            for (Pair<AutoFileSyncEntry, Path> entry : receivedFiles) {
                 final AutoFileSyncEntry e = entry.first;
-                final byte[] data = entry.second;
+                writeSyncedFile(e, entry.second, e.fileName);
+            }
 
-                writeSyncedFile(e, data, e.fileName);
+            for (Pair<AutoFileSyncEntry, byte[]> entry : receivedContent) {
+                final AutoFileSyncEntry e = entry.first;
+                writeSyncedFile(e, entry.second, e.fileName);
             }
 
             showConfirmRestart(client);
         }
     }
 
+    @FunctionalInterface
+    private interface ContentWriter {
+        void writeTo(Path target) throws IOException;
+    }
 
     @Environment(EnvType.CLIENT)
     static void writeSyncedFile(AutoSyncID e, byte[] data, File fileName) {
+        writeSyncedFile(e, fileName, data.length, target -> {
+            //write to a temporary file first, so the target is replaced in one step
+            final Path temp = target.resolveSibling(target.getFileName() + PartialFileStore.TEMP_EXTENSION);
+            final long start = SyncMetrics.start();
+            Files.write(temp, data);
+            SyncMetrics.record(SyncMetrics.Phase.WRITE, start, data.length);
+            PartialFileStore.moveIntoPlace(temp, target);
+        });
+    }
+
+    @Environment(EnvType.CLIENT)
+    static void writeSyncedFile(AutoSyncID e, Path receivedFile, File fileName) {
+        writeSyncedFile(
+                e,
+                fileName,
+                receivedFile.toFile().length(),
+                target -> PartialFileStore.moveIntoPlace(receivedFile, target)
+        );
+    }
+
+    @Environment(EnvType.CLIENT)
+    private static void writeSyncedFile(AutoSyncID e, File fileName, long size, ContentWriter writer) {
         if (fileName != null && !PathUtil.isChildOf(PathUtil.GAME_FOLDER, fileName.toPath())) {
             BCLib.LOGGER.error(fileName + " is not within game folder " + PathUtil.GAME_FOLDER);
             return;
@@ -188,14 +419,14 @@ public class SendFiles extends DataHandler.FromServer {
             } while (path.toFile().exists());
         }
 
-        BCLib.LOGGER.info("	- Writing " + path + " (" + PathUtil.humanReadableFileSize(data.length) + ")");
+        BCLib.LOGGER.info("	- Writing " + path + " (" + PathUtil.humanReadableFileSize(size) + ")");
         try {
             final File parentFile = path.getParent()
                                         .toFile();
             if (!parentFile.exists()) {
                 parentFile.mkdirs();
             }
-            Files.write(path, data);
+            writer.writeTo(path);
             if (removeAfter != null) {
                 final String bakFileName = removeAfter.toFile().getName();
                 String collisionFreeName = bakFileName;
@@ -9,9 +9,10 @@ import org.betterx.worlds.together.util.PathUtil;
 
 import net.minecraft.network.FriendlyByteBuf;
 
+import java.io.File;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 
@@ -63,7 +64,7 @@ public class SyncFolderDescriptor {
     @NotNull
     public final Path localFolder;
 
-    private List<SubFile> fileCache;
+    private volatile Map<String, SubFile> fileCache;
 
     public SyncFolderDescriptor(String folderID, Path localFolder, boolean removeAdditionalFiles) {
         this.removeAdditionalFiles = removeAdditionalFiles;
@@ -105,22 +106,74 @@ public class SyncFolderDescriptor {
 
     public void invalidateCache() {
         fileCache = null;
+        HelloClient.invalidateServerPayload();
     }
 
     public void loadCache() {
         if (fileCache == null) {
-            fileCache = new ArrayList<>(8);
-            PathUtil.fileWalker(localFolder.toFile(), p -> fileCache.add(new SubFile(
-                    localFolder.relativize(p)
-                               .toString(),
-                    FileHash.create(p.toFile())
-            )));
+            fileCache = buildCache();
+        }
+    }
+
+    private Map<String, SubFile> buildCache() {
+        final Map<String, SubFile> cache = new LinkedHashMap<>(8);
+        PathUtil.fileWalker(localFolder.toFile(), p -> {
+            final SubFile sf = createSubFile(p);
+            cache.put(sf.relPath, sf);
+        });
 			
-			/*//this tests if we can trick the system to load files that are not beneath the base-folder
-			if (!BCLib.isClient()) {
-				fileCache.add(new SubFile("../breakout.json", FileHash.create(mapAbsolute("../breakout.json").toFile())));
-			}*/
+		/*//this tests if we can trick the system to load files that are not beneath the base-folder
+		if (!BCLib.isClient()) {
+			cache.put("../breakout.json", new SubFile("../breakout.json", FileHash.create(mapAbsolute("../breakout.json").toFile())));
+		}*/
+        return cache;
+    }
+
+    private SubFile createSubFile(Path absPath) {
+        return new SubFile(localFolder.relativize(absPath).toString(), FileHash.create(absPath.toFile()));
+    }
+
+    /**
+     * Rebuilds the entire file cache and replaces the current cache once all hashes are calculated.
+     * <p>
+     * Unlike {@link #invalidateCache()}, readers can keep using the old cache while the new one is built.
+     */
+    synchronized void rebuildCache() {
+        fileCache = buildCache();
+        HelloClient.invalidateServerPayload();
+    }
+
+    /**
+     * Updates the cached entry for a single file. If the file no longer exists, the entry (and if it was a
+     * directory, all entries below it) is removed from the cache.
+     * <p>
+     * Does nothing if the cache was not yet loaded.
+     *
+     * @param absPath The absolute path of the file that changed
+     */
+    synchronized void updateCachedFile(Path absPath) {
+        final Map<String, SubFile> oldCache = fileCache;
+        if (oldCache == null || !acceptChildElements(absPath)) return;
+
+        final Map<String, SubFile> cache = new LinkedHashMap<>(oldCache);
+        final String relPath = localFolder.relativize(absPath).toString();
+        final File file = absPath.toFile();
+        if (file.isFile()) {
+            if (file.getName().startsWith(".")) return;
+            cache.put(relPath, createSubFile(absPath));
+        } else if (file.isDirectory()) {
+            PathUtil.fileWalker(file, p -> {
+                final SubFile sf = createSubFile(p);
+                cache.put(sf.relPath, sf);
+            });
+        } else {
+            final String dirPrefix = relPath + File.separator;
+            cache.remove(relPath);
+            cache.keySet().removeIf(key -> key.startsWith(dirPrefix));
         }
+
+        fileCache = cache;
+        HelloClient.invalidateServerPayload();
     }
 
     public void serialize(FriendlyByteBuf buf) {
@@ -129,8 +182,9 @@ public class SyncFolderDescriptor {
 
         DataHandler.writeString(buf, folderID);
         buf.writeBoolean(removeAdditionalFiles);
-        buf.writeInt(fileCache.size());
-        fileCache.forEach(fl -> {
+        final Map<String, SubFile> cache = fileCache;
+        buf.writeInt(cache.size());
+        cache.values().forEach(fl -> {
             if (Configs.MAIN_CONFIG.verboseLogging()) {
                 BCLib.LOGGER.info("	  - " + fl.relPath);
                 if (debugHashes) {
@@ -154,7 +208,7 @@ public class SyncFolderDescriptor {
                     localDescriptor.localFolder,
                     localDescriptor.removeAdditionalFiles && remAddFiles
             );
-            desc.fileCache = new ArrayList<>(count);
+            desc.fileCache = new LinkedHashMap<>(count);
         } else {
             BCLib.LOGGER.warning(BCLib.isClient()
                     ? "Client"
@@ -164,7 +218,7 @@ public class SyncFolderDescriptor {
 
         for (int i = 0; i < count; i++) {
             SubFile relPath = SubFile.deserialize(buf);
-            if (desc != null) desc.fileCache.add(relPath);
+            if (desc != null) desc.fileCache.put(relPath.relPath, relPath);
         }
 
         return desc;
@@ -172,10 +226,7 @@ public class SyncFolderDescriptor {
 
     //Note: make sure loadCache was called before using this
     boolean hasRelativeFile(String relFile) {
-        return fileCache.stream()
-                        .filter(sf -> sf.equals(relFile))
-                        .findFirst()
-                        .isPresent();
+        return fileCache.containsKey(relFile);
     }
 
     //Note: make sure loadCache was called before using this
@@ -185,15 +236,12 @@ public class SyncFolderDescriptor {
 
     //Note: make sure loadCache was called before using this
     SubFile getLocalSubFile(String relPath) {
-        return fileCache.stream()
-                        .filter(sf -> sf.relPath.equals(relPath))
-                        .findFirst()
-                        .orElse(null);
+        return fileCache.get(relPath);
     }
 
     Stream<SubFile> relativeFilesStream() {
         loadCache();
-        return fileCache.stream();
+        return fileCache.values().stream();
     }
 
     public Path mapAbsolute(String relPath) {
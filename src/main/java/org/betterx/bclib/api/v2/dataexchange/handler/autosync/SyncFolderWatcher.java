@@ -0,0 +1,256 @@
+package org.betterx.bclib.api.v2.dataexchange.handler.autosync;
+
+import org.betterx.bclib.BCLib;
+import org.betterx.bclib.config.Configs;
+import org.betterx.worlds.together.util.PathUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the file index of all registered {@link SyncFolderDescriptor}s up to date in the background.
+ * <p>
+ * When the filesystem supports it, a {@link WatchService} is used to receive add, modify and delete events,
+ * which are applied to the index of the affected descriptor through
+ * {@link SyncFolderDescriptor#updateCachedFile(Path)}. Otherwise, all folders are polled in the interval
+ * configured in {@link org.betterx.bclib.config.ServerConfig#SYNC_FOLDER_POLL_INTERVAL}, and only files with a
+ * changed size or modification date are rehashed.
+ * <p>
+ * The watcher runs on a single daemon thread, so handshakes never have to wait for file I/O once the initial
+ * index was built.
+ */
+class SyncFolderWatcher implements Runnable {
+    private record FileStamp(long lastModified, long size) {
+        static FileStamp of(File file) {
+            return new FileStamp(file.lastModified(), file.length());
+        }
+    }
+
+    //time we wait for additional events, before we start to rehash changed files
+    private static final long SETTLE_MILLIS = 250;
+    //time we wait for events, before we look for newly registered folders
+    private static final long PENDING_SECONDS = 1;
+    private static SyncFolderWatcher watcher;
+
+    //only accessed by the watcher thread
+    private final List<SyncFolderDescriptor> folders;
+    //folders that were registered after the watcher was started
+    private final Queue<SyncFolderDescriptor> pending = new ConcurrentLinkedQueue<>();
+    private final int pollSeconds;
+    private final Map<WatchKey, SyncFolderDescriptor> keyToFolder = new HashMap<>();
+    private final Map<WatchKey, Path> keyToPath = new HashMap<>();
+    private final Map<Path, FileStamp> stamps = new HashMap<>();
+
+    private SyncFolderWatcher(List<SyncFolderDescriptor> folders, int pollSeconds) {
+        this.folders = new ArrayList<>(folders);
+        this.pollSeconds = pollSeconds;
+    }
+
+    /**
+     * Starts the background watcher (if it is not already running).
+     *
+     * @param folders The folders that should be watched. The watcher works on a copy, folders that are
+     *                registered later are handed over through {@link #add(SyncFolderDescriptor)}
+     */
+    static synchronized void start(List<SyncFolderDescriptor> folders) {
+        if (watcher != null) return;
+
+        watcher = new SyncFolderWatcher(
+                List.copyOf(folders),
+                Configs.SERVER_CONFIG.syncFolderPollInterval()
+        );
+        final Thread watcherThread = new Thread(watcher, "BCLib Sync-Folder Watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Hands a newly registered folder to the running watcher. Does nothing if the watcher was not started yet,
+     * as {@link #start(List)} will pick up all registered folders.
+     *
+     * @param desc The new folder
+     */
+    static synchronized void add(SyncFolderDescriptor desc) {
+        if (watcher != null) watcher.pending.add(desc);
+    }
+
+    @Override
+    public void run() {
+        try {
+            //build the initial index in the background, so the first handshake does not need to
+            folders.forEach(SyncFolderDescriptor::loadCache);
+            HelloClient.invalidateServerPayload();
+
+            try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+                for (SyncFolderDescriptor desc : folders) {
+                    registerTree(watchService, desc, desc.localFolder);
+                }
+                BCLib.LOGGER.info("Watching " + folders.size() + " Sync-Folders for changes.");
+                watch(watchService);
+            } catch (IOException | UnsupportedOperationException e) {
+                BCLib.LOGGER.warning("Unable to watch Sync-Folders (" + e.getMessage() + "). Polling every " + pollSeconds + "s instead.");
+                poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } catch (RuntimeException e) {
+            BCLib.LOGGER.error("Sync-Folder Watcher stopped. Changes to Sync-Folders are no longer detected.", e);
+        }
+    }
+
+    /**
+     * Adds the folders that were registered since the last call.
+     *
+     * @param watchService The service the new folders are registered with, or {@code null} when polling
+     */
+    private void addPending(WatchService watchService) {
+        SyncFolderDescriptor next;
+        while ((next = pending.poll()) != null) {
+            final SyncFolderDescriptor desc = next;
+            if (folders.contains(desc)) continue;
+            folders.add(desc);
+            desc.loadCache();
+            HelloClient.invalidateServerPayload();
+
+            if (watchService == null) {
+                desc.relativeFilesStream().forEach(sf -> {
+                    final Path path = desc.mapAbsolute(sf);
+                    stamps.put(path, FileStamp.of(path.toFile()));
+                });
+            } else {
+                try {
+                    registerTree(watchService, desc, desc.localFolder);
+                } catch (IOException e) {
+                    BCLib.LOGGER.error("Unable to watch " + desc.localFolder + ": " + e.getMessage());
+                }
+            }
+            BCLib.LOGGER.info("Started watching Sync-Folder " + desc.folderID + ".");
+        }
+    }
+
+    private void watch(WatchService watchService) throws InterruptedException {
+        final Map<Path, SyncFolderDescriptor> changed = new LinkedHashMap<>();
+        final Set<SyncFolderDescriptor> overflowed = new HashSet<>();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            addPending(watchService);
+            WatchKey key = watchService.poll(PENDING_SECONDS, TimeUnit.SECONDS);
+            //collect all events that arrive in short succession (a single write usually triggers several)
+            while (key != null) {
+                final SyncFolderDescriptor desc = keyToFolder.get(key);
+                final Path dir = keyToPath.get(key);
+                if (desc != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflowed.add(desc);
+                        } else if (event.context() instanceof Path rel) {
+                            if (rel.getFileName().toString().startsWith(".")) continue;
+                            changed.put(dir.resolve(rel), desc);
+                        }
+                    }
+                }
+
+                if (!key.reset()) {
+                    keyToFolder.remove(key);
+                    keyToPath.remove(key);
+                }
+                key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+
+            overflowed.forEach(desc -> {
+                BCLib.LOGGER.info("Too many changes in Sync-Folder " + desc.folderID + ". Rebuilding the index.");
+                desc.rebuildCache();
+                try {
+                    registerTree(watchService, desc, desc.localFolder);
+                } catch (IOException e) {
+                    BCLib.LOGGER.error("Unable to watch " + desc.localFolder + ": " + e.getMessage());
+                }
+            });
+
+            changed.forEach((path, desc) -> {
+                if (overflowed.contains(desc)) return;
+                if (Files.isDirectory(path)) {
+                    try {
+                        registerTree(watchService, desc, path);
+                    } catch (IOException e) {
+                        BCLib.LOGGER.error("Unable to watch " + path + ": " + e.getMessage());
+                    }
+                }
+                if (Configs.MAIN_CONFIG.verboseLogging())
+                    BCLib.LOGGER.info("Sync-Folder " + desc.folderID + " changed: " + desc.localFolder.relativize(path));
+                desc.updateCachedFile(path);
+            });
+
+            changed.clear();
+            overflowed.clear();
+        }
+    }
+
+    private void registerTree(WatchService watchService, SyncFolderDescriptor desc, Path root) throws IOException {
+        final File dir = root.toFile();
+        if (!dir.isDirectory() || dir.getName().startsWith(".")) return;
+
+        final WatchKey key = root.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE
+        );
+        keyToFolder.put(key, desc);
+        keyToPath.put(key, root);
+
+        final File[] children = dir.listFiles(File::isDirectory);
+        if (children != null) {
+            for (File child : children) {
+                registerTree(watchService, desc, child.toPath());
+            }
+        }
+    }
+
+    private void poll() {
+        for (SyncFolderDescriptor desc : folders) {
+            desc.relativeFilesStream().forEach(sf -> {
+                final Path path = desc.mapAbsolute(sf);
+                stamps.put(path, FileStamp.of(path.toFile()));
+            });
+        }
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(pollSeconds * 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            addPending(null);
+            for (SyncFolderDescriptor desc : folders) {
+                pollFolder(desc);
+            }
+        }
+    }
+
+    private void pollFolder(SyncFolderDescriptor desc) {
+        final Set<Path> seen = new HashSet<>();
+        PathUtil.fileWalker(desc.localFolder.toFile(), path -> {
+            seen.add(path);
+            final FileStamp stamp = FileStamp.of(path.toFile());
+            if (!stamp.equals(stamps.put(path, stamp))) {
+                desc.updateCachedFile(path);
+            }
+        });
+
+        final Iterator<Path> it = stamps.keySet().iterator();
+        while (it.hasNext()) {
+            final Path path = it.next();
+            if (desc.acceptChildElements(path) && !seen.contains(path)) {
+                it.remove();
+                desc.updateCachedFile(path);
+            }
+        }
+    }
+}
@@ -8,19 +8,31 @@ import org.betterx.worlds.together.biomesource.MergeableBiomeSource;
 import org.betterx.worlds.together.world.BiomeSourceWithNoiseRelatedSettings;
 import org.betterx.worlds.together.world.BiomeSourceWithSeed;
 
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
 import net.minecraft.world.level.levelgen.NoiseGeneratorSettings;
 
 import com.google.common.collect.Sets;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class BCLBiomeSource extends BiomeSource implements BiomeSourceWithSeed, MergeableBiomeSource<BCLBiomeSource>, BiomeSourceWithNoiseRelatedSettings, BiomeSourceFromRegistry<BCLBiomeSource> {
     protected final Registry<Biome> biomeRegistry;
@@ -101,8 +113,8 @@ public abstract class BCLBiomeSource extends BiomeSource implements BiomeSourceW
 
     protected static List<Holder<Biome>> getBiomes(
             Registry<Biome> biomeRegistry,
-            List<String> exclude,
-            List<String> include,
+            Collection<String> exclude,
+            Collection<String> include,
             BCLibNetherBiomeSource.ValidBiomePredicate test
     ) {
         return biomeRegistry.stream()
@@ -134,4 +146,173 @@ public abstract class BCLBiomeSource extends BiomeSource implements BiomeSourceW
     public Registry<Biome> getBiomeRegistry() {
         return biomeRegistry;
     }
+
+    /**
+     * The size (in blocks) of the smallest biome cell the maps of this source generate. Used to choose the
+     * coarse step of {@link #findClosestBiome(BlockPos, int, int, int, Predicate, Climate.Sampler, LevelReader)}.
+     *
+     * @return The smallest biome size
+     */
+    protected int getSmallestBiomeSize() {
+        return 64;
+    }
+
+    /**
+     * Finds the closest position (in the same spiral order the vanilla search uses) with a biome that matches
+     * the predicate.
+     * <p>
+     * Biome cells of BCL maps are much larger than the step of a typical search, so the area is first sampled
+     * with a coarse step of a quarter of the {@link #getSmallestBiomeSize()}. Once a ring of the coarse search
+     * finds a candidate, only the squares around the candidates of that ring are searched with the requested
+     * step and the closest match is returned. If the coarse search finds nothing (for example for narrow edge
+     * biomes), the area is searched with the requested step.
+     *
+     * @param origin         The center of the search
+     * @param radius         The horizontal radius in blocks
+     * @param horizontalStep The horizontal distance between two samples in blocks
+     * @param verticalStep   The vertical distance between two samples in blocks
+     * @param predicate      The biomes to look for
+     * @param sampler        The climate sampler of the level
+     * @param level          The level, used for its build height
+     * @return The position and biome that was found, or {@code null}
+     */
+    @Nullable
+    public Pair<BlockPos, Holder<Biome>> findClosestBiome(
+            BlockPos origin,
+            int radius,
+            int horizontalStep,
+            int verticalStep,
+            Predicate<Holder<Biome>> predicate,
+            Climate.Sampler sampler,
+            LevelReader level
+    ) {
+        final Set<Holder<Biome>> candidates = this.possibleBiomes()
+                                                  .stream()
+                                                  .filter(predicate)
+                                                  .collect(Collectors.toUnmodifiableSet());
+        if (candidates.isEmpty()) return null;
+
+        horizontalStep = Math.max(1, horizontalStep);
+        final int[] heights = Mth.outFromOrigin(
+                origin.getY(),
+                level.getMinBuildHeight() + 1,
+                level.getMaxBuildHeight(),
+                verticalStep
+        ).toArray();
+
+        final int coarseStep = Math.max(1, getSmallestBiomeSize() / 4 / horizontalStep) * horizontalStep;
+        if (coarseStep > horizontalStep) {
+            final Pair<BlockPos, Holder<Biome>> result = coarseSearch(
+                    origin,
+                    radius,
+                    horizontalStep,
+                    coarseStep,
+                    heights,
+                    candidates,
+                    sampler
+            );
+            if (result != null) return result;
+        }
+
+        for (BlockPos.MutableBlockPos offset : BlockPos.spiralAround(
+                BlockPos.ZERO,
+                Math.floorDiv(radius, horizontalStep),
+                Direction.EAST,
+                Direction.SOUTH
+        )) {
+            final Pair<BlockPos, Holder<Biome>> result = testColumn(
+                    origin.getX() + offset.getX() * horizontalStep,
+                    origin.getZ() + offset.getZ() * horizontalStep,
+                    heights,
+                    candidates,
+                    sampler
+            );
+            if (result != null) return result;
+        }
+        return null;
+    }
+
+    @Nullable
+    private Pair<BlockPos, Holder<Biome>> coarseSearch(
+            BlockPos origin,
+            int radius,
+            int step,
+            int coarseStep,
+            int[] heights,
+            Set<Holder<Biome>> candidates,
+            Climate.Sampler sampler
+    ) {
+        final int ratio = coarseStep / step;
+        final int fineRadius = Math.floorDiv(radius, step);
+        final int coarseRadius = Math.floorDiv(radius, coarseStep);
+        for (int ring = 0; ring <= coarseRadius; ring++) {
+            Pair<BlockPos, Holder<Biome>> best = null;
+            int bestRing = Integer.MAX_VALUE;
+            for (BlockPos.MutableBlockPos offset : ring(ring)) {
+                if (testColumn(
+                        origin.getX() + offset.getX() * coarseStep,
+                        origin.getZ() + offset.getZ() * coarseStep,
+                        heights,
+                        candidates,
+                        sampler
+                ) == null) continue;
+
+                //refine the square around the candidate with the requested step
+                final int centerX = offset.getX() * ratio;
+                final int centerZ = offset.getZ() * ratio;
+                for (int dx = -ratio; dx <= ratio; dx++) {
+                    for (int dz = -ratio; dz <= ratio; dz++) {
+                        final int fx = centerX + dx;
+                        final int fz = centerZ + dz;
+                        final int fineRing = Math.max(Math.abs(fx), Math.abs(fz));
+                        if (fineRing > fineRadius || fineRing >= bestRing) continue;
+                        final Pair<BlockPos, Holder<Biome>> result = testColumn(
+                                origin.getX() + fx * step,
+                                origin.getZ() + fz * step,
+                                heights,
+                                candidates,
+                                sampler
+                        );
+                        if (result != null) {
+                            best = result;
+                            bestRing = fineRing;
+                        }
+                    }
+                }
+            }
+            if (best != null) return best;
+        }
+        return null;
+    }
+
+    private static Iterable<BlockPos.MutableBlockPos> ring(int ring) {
+        if (ring == 0) return List.of(new BlockPos.MutableBlockPos());
+        final List<BlockPos.MutableBlockPos> result = new ArrayList<>(ring * 8);
+        for (int i = -ring; i <= ring; i++) {
+            result.add(new BlockPos.MutableBlockPos(i, 0, -ring));
+            result.add(new BlockPos.MutableBlockPos(i, 0, ring));
+        }
+        for (int i = -ring + 1; i < ring; i++) {
+            result.add(new BlockPos.MutableBlockPos(-ring, 0, i));
+            result.add(new BlockPos.MutableBlockPos(ring, 0, i));
+        }
+        return result;
+    }
+
+    @Nullable
+    private Pair<BlockPos, Holder<Biome>> testColumn(
+            int x,
+            int z,
+            int[] heights,
+            Set<Holder<Biome>> candidates,
+            Climate.Sampler sampler
+    ) {
+        final int quartX = QuartPos.fromBlock(x);
+        final int quartZ = QuartPos.fromBlock(z);
+        for (int y : heights) {
+            final Holder<Biome> biome = this.getNoiseBiome(quartX, QuartPos.fromBlock(y), quartZ, sampler);
+            if (candidates.contains(biome)) return Pair.of(new BlockPos(x, y, z), biome);
+        }
+        return null;
+    }
 }
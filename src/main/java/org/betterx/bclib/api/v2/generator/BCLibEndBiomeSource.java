@@ -2,6 +2,8 @@ package org.betterx.bclib.api.v2.generator;
 
 import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.generator.config.BCLEndBiomeSourceConfig;
+import org.betterx.bclib.api.v2.generator.config.MapBuilderFunction;
+import org.betterx.bclib.api.v2.generator.map.LazyBiomeMap;
 import org.betterx.bclib.api.v2.levelgen.biomes.BCLBiome;
 import org.betterx.bclib.api.v2.levelgen.biomes.BCLBiomeRegistry;
 import org.betterx.bclib.api.v2.levelgen.biomes.BiomeAPI;
@@ -21,6 +23,7 @@ import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.BiomeTags;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.BiomeSource;
 import net.minecraft.world.level.biome.Biomes;
@@ -28,10 +31,12 @@ import net.minecraft.world.level.biome.Climate;
 import net.minecraft.world.level.levelgen.DensityFunction;
 
 import java.awt.*;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 
 public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWithConfig<BCLibEndBiomeSource, BCLEndBiomeSourceConfig>, ReloadableBiomeSource {
@@ -56,7 +61,35 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
                                                                       instance.stable(BCLibEndBiomeSource::new)
                                                               )
     );
+    /**
+     * Remembers the erosion and the resulting {@link BiomeAPI.BiomeType} of the last section columns a thread
+     * looked at. All quarts of a section column share the same values, as the erosion is sampled at the
+     * center of the section.
+     */
+    private static final class ColumnCache {
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final long[] keys = new long[SIZE];
+        private final double[] erosion = new double[SIZE];
+        private final BiomeAPI.BiomeType[] types = new BiomeAPI.BiomeType[SIZE];
+        private DensityFunction function;
+        private int generation = -1;
+
+        private void reset(DensityFunction function, int generation) {
+            this.function = function;
+            this.generation = generation;
+            Arrays.fill(types, null);
+        }
+
+        private static int slot(int sectionX, int sectionZ) {
+            return (sectionX * 31 + sectionZ) & MASK;
+        }
+    }
+
     private final Point pos;
+    private final ThreadLocal<ColumnCache> columnCache = ThreadLocal.withInitial(ColumnCache::new);
+    private volatile int cacheGeneration = 0;
     private BiomeMap mapLand;
     private BiomeMap mapVoid;
     private BiomeMap mapCenter;
@@ -67,6 +100,9 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
     private BiomePicker endCenterBiomePicker;
     private BiomePicker endBarrensBiomePicker;
     private List<BiomeDecider> deciders;
+    private BiomeDecider[] typeDeciders = new BiomeDecider[0];
+    //the deciders that can provide a biome for a type, in the order they are asked
+    private final Map<BiomeAPI.BiomeType, BiomeDecider[]> providers = new ConcurrentHashMap<>();
 
     private BCLEndBiomeSourceConfig config;
 
@@ -107,13 +143,14 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
 
     @NotNull
     private void rebuildBiomePickers() {
-        var includeMap = Configs.BIOMES_CONFIG.getBiomeIncludeMap();
-        var excludeList = Configs.BIOMES_CONFIG.getExcludeMatching(BiomeAPI.BiomeType.END);
+        var excludeList = Configs.BIOMES_CONFIG.getExcludeMatchingSet(BiomeAPI.BiomeType.END);
 
         this.deciders = BiomeDecider.DECIDERS.stream()
                                              .filter(d -> d.canProvideFor(this))
                                              .map(d -> d.createInstance(this))
                                              .toList();
+        this.typeDeciders = deciders.toArray(new BiomeDecider[0]);
+        this.providers.clear();
 
         this.endLandBiomePicker = new BiomePicker(biomeRegistry);
         this.endVoidBiomePicker = new BiomePicker(biomeRegistry);
@@ -131,7 +168,7 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
             ResourceLocation biomeID = key.location();
             String biomeStr = biomeID.toString();
             //exclude everything that was listed
-            if (excludeList != null && excludeList.contains(biomeStr)) return;
+            if (excludeList.contains(biomeStr)) return;
             if (!biome.isBound()) {
                 BCLib.LOGGER.warning("Biome " + biomeStr + " is requested but not yet bound.");
                 return;
@@ -157,8 +194,7 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
                     //force include biomes
                     boolean didForceAdd = false;
                     for (var entry : pickerMap.entrySet()) {
-                        var includeList = includeMap == null ? null : includeMap.get(entry.getKey());
-                        if (includeList != null && includeList.contains(biomeStr)) {
+                        if (Configs.BIOMES_CONFIG.getIncludeSet(entry.getKey()).contains(biomeStr)) {
                             entry.getValue().addBiome(bclBiome);
                             didForceAdd = true;
                         }
@@ -228,6 +264,18 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
                 endCenterBiomePicker = endLandBiomePicker;
             }
         }
+
+        getProviders(BiomeAPI.BiomeType.END_CENTER);
+        getProviders(BiomeAPI.BiomeType.END_LAND);
+        getProviders(BiomeAPI.BiomeType.END_VOID);
+        getProviders(BiomeAPI.BiomeType.END_BARRENS);
+    }
+
+    private BiomeDecider[] getProviders(BiomeAPI.BiomeType type) {
+        return providers.computeIfAbsent(
+                type,
+                t -> deciders.stream().filter(d -> d.canProvideBiome(t)).toArray(BiomeDecider[]::new)
+        );
     }
 
     protected BCLBiomeSource cloneForDatapack(Set<Holder<Biome>> datapackBiomes) {
@@ -255,8 +303,8 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
     private static List<Holder<Biome>> getNonVanillaBiomes(Registry<Biome> biomeRegistry) {
         return getBiomes(
                 biomeRegistry,
-                Configs.BIOMES_CONFIG.getExcludeMatching(BiomeAPI.BiomeType.END),
-                Configs.BIOMES_CONFIG.getIncludeMatching(BiomeAPI.BiomeType.END),
+                Configs.BIOMES_CONFIG.getExcludeMatchingSet(BiomeAPI.BiomeType.END),
+                Configs.BIOMES_CONFIG.getIncludeMatchingSet(BiomeAPI.BiomeType.END),
                 BCLibEndBiomeSource::isValidNonVanillaEndBiome
         );
     }
@@ -264,8 +312,8 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
     private static List<Holder<Biome>> getBiomes(Registry<Biome> biomeRegistry) {
         return getBiomes(
                 biomeRegistry,
-                Configs.BIOMES_CONFIG.getExcludeMatching(BiomeAPI.BiomeType.END),
-                Configs.BIOMES_CONFIG.getIncludeMatching(BiomeAPI.BiomeType.END),
+                Configs.BIOMES_CONFIG.getExcludeMatchingSet(BiomeAPI.BiomeType.END),
+                Configs.BIOMES_CONFIG.getIncludeMatchingSet(BiomeAPI.BiomeType.END),
                 BCLibEndBiomeSource::isValidEndBiome
         );
     }
@@ -298,38 +346,49 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
 
     @Override
     protected void onInitMap(long seed) {
+        cacheGeneration++;
+        //maps are only created once a biome of their picker is requested
+        final MapBuilderFunction mapBuilder = LazyBiomeMap.wrap(config.getMapBuilder());
         for (BiomeDecider decider : deciders) {
-            decider.createMap((picker, size) -> config.mapVersion.mapBuilder.create(
+            decider.createMap((picker, size) -> mapBuilder.create(
                     seed,
                     size <= 0 ? config.landBiomesSize : size,
                     picker
             ));
         }
-        this.mapLand = config.mapVersion.mapBuilder.create(
+        this.mapLand = mapBuilder.create(
                 seed,
                 config.landBiomesSize,
                 endLandBiomePicker
         );
 
-        this.mapVoid = config.mapVersion.mapBuilder.create(
+        this.mapVoid = mapBuilder.create(
                 seed,
                 config.voidBiomesSize,
                 endVoidBiomePicker
         );
 
-        this.mapCenter = config.mapVersion.mapBuilder.create(
+        this.mapCenter = mapBuilder.create(
                 seed,
                 config.centerBiomesSize,
                 endCenterBiomePicker
         );
 
-        this.mapBarrens = config.mapVersion.mapBuilder.create(
+        this.mapBarrens = mapBuilder.create(
                 seed,
                 config.barrensBiomesSize,
                 endBarrensBiomePicker
         );
     }
 
+    @Override
+    protected int getSmallestBiomeSize() {
+        return Math.min(
+                Math.min(config.landBiomesSize, config.voidBiomesSize),
+                Math.min(config.centerBiomesSize, config.barrensBiomesSize)
+        );
+    }
+
     @Override
     protected void onHeightChange(int newHeight) {
 
@@ -348,52 +407,42 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
                 ? ((long) config.innerVoidRadiusSquared + 1)
                 : (long) posX * (long) posX + (long) posZ * (long) posZ;
 
-
-        if ((biomeX & 63) == 0 || (biomeZ & 63) == 0) {
-            mapLand.clearCache();
-            mapVoid.clearCache();
-            mapCenter.clearCache();
-            mapVoid.clearCache();
-            for (BiomeDecider decider : deciders) {
-                decider.clearMapCache();
-            }
+        final int sectionX = SectionPos.blockToSectionCoord(posX);
+        final int sectionZ = SectionPos.blockToSectionCoord(posZ);
+        final DensityFunction erosion = sampler.erosion();
+        final ColumnCache cache = columnCache.get();
+        if (cache.function != erosion || cache.generation != cacheGeneration) {
+            cache.reset(erosion, cacheGeneration);
         }
 
-        BiomeAPI.BiomeType suggestedType;
-
-
-        int x = (SectionPos.blockToSectionCoord(posX) * 2 + 1) * 8;
-        int z = (SectionPos.blockToSectionCoord(posZ) * 2 + 1) * 8;
-        double d = sampler.erosion().compute(new DensityFunction.SinglePointContext(x, posY, z));
-        if (dist <= (long) config.innerVoidRadiusSquared) {
-            suggestedType = BiomeAPI.BiomeType.END_CENTER;
-        } else {
-            if (d > 0.25) {
-                suggestedType = BiomeAPI.BiomeType.END_LAND; //highlands
-            } else if (d >= -0.0625) {
-                suggestedType = BiomeAPI.BiomeType.END_LAND; //midlands
-            } else {
-                suggestedType = d < -0.21875
-                        ? BiomeAPI.BiomeType.END_VOID //small islands
-                        : (config.withVoidBiomes
-                                ? BiomeAPI.BiomeType.END_BARRENS
-                                : BiomeAPI.BiomeType.END_LAND); //barrens
-            }
+        final long key = ChunkPos.asLong(sectionX, sectionZ);
+        final int slot = ColumnCache.slot(sectionX, sectionZ);
+        if (cache.types[slot] == null || cache.keys[slot] != key) {
+            int x = (sectionX * 2 + 1) * 8;
+            int z = (sectionZ * 2 + 1) * 8;
+            //the end erosion only depends on x and z, so one sample per section column is enough
+            double d = erosion.compute(new DensityFunction.SinglePointContext(x, posY, z));
+            cache.keys[slot] = key;
+            cache.erosion[slot] = d;
+            cache.types[slot] = getTypeForErosion(d);
         }
 
+        final double d = cache.erosion[slot];
+        BiomeAPI.BiomeType suggestedType = dist <= (long) config.innerVoidRadiusSquared
+                ? BiomeAPI.BiomeType.END_CENTER
+                : cache.types[slot];
+
         final BiomeAPI.BiomeType originalType = suggestedType;
-        for (BiomeDecider decider : deciders) {
+        for (BiomeDecider decider : typeDeciders) {
             suggestedType = decider
                     .suggestType(originalType, suggestedType, d, maxHeight, posX, posY, posZ, biomeX, biomeY, biomeZ);
         }
 
 
         BiomePicker.ActualBiome result;
-        for (BiomeDecider decider : deciders) {
-            if (decider.canProvideBiome(suggestedType)) {
-                result = decider.provideBiome(suggestedType, posX, posY, posZ);
-                if (result != null) return result.biome;
-            }
+        for (BiomeDecider decider : getProviders(suggestedType)) {
+            result = decider.provideBiome(suggestedType, posX, posY, posZ);
+            if (result != null) return result.biome;
         }
 
         if (suggestedType.is(BiomeAPI.BiomeType.END_CENTER)) return mapCenter.getBiome(posX, posY, posZ).biome;
@@ -403,6 +452,20 @@ public class BCLibEndBiomeSource extends BCLBiomeSource implements BiomeSourceWi
     }
 
 
+    private BiomeAPI.BiomeType getTypeForErosion(double d) {
+        if (d > 0.25) {
+            return BiomeAPI.BiomeType.END_LAND; //highlands
+        } else if (d >= -0.0625) {
+            return BiomeAPI.BiomeType.END_LAND; //midlands
+        } else {
+            return d < -0.21875
+                    ? BiomeAPI.BiomeType.END_VOID //small islands
+                    : (config.withVoidBiomes
+                            ? BiomeAPI.BiomeType.END_BARRENS
+                            : BiomeAPI.BiomeType.END_LAND); //barrens
+        }
+    }
+
     @Override
     protected Codec<? extends BiomeSource> codec() {
         return CODEC;
@@ -3,6 +3,7 @@ package org.betterx.bclib.api.v2.generator;
 import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.generator.config.BCLNetherBiomeSourceConfig;
 import org.betterx.bclib.api.v2.generator.config.MapBuilderFunction;
+import org.betterx.bclib.api.v2.generator.map.LazyBiomeMap;
 import org.betterx.bclib.api.v2.generator.map.MapStack;
 import org.betterx.bclib.api.v2.levelgen.biomes.BCLBiome;
 import org.betterx.bclib.api.v2.levelgen.biomes.BCLBiomeRegistry;
@@ -136,16 +137,16 @@ public class BCLibNetherBiomeSource extends BCLBiomeSource implements BiomeSourc
     }
 
     private static List<Holder<Biome>> getNonVanillaBiomes(Registry<Biome> biomeRegistry) {
-        List<String> include = Configs.BIOMES_CONFIG.getIncludeMatching(BiomeAPI.BiomeType.NETHER);
-        List<String> exclude = Configs.BIOMES_CONFIG.getExcludeMatching(BiomeAPI.BiomeType.NETHER);
+        Set<String> include = Configs.BIOMES_CONFIG.getIncludeMatchingSet(BiomeAPI.BiomeType.NETHER);
+        Set<String> exclude = Configs.BIOMES_CONFIG.getExcludeMatchingSet(BiomeAPI.BiomeType.NETHER);
 
         return getBiomes(biomeRegistry, exclude, include, BCLibNetherBiomeSource::isValidNonVanillaNetherBiome);
     }
 
 
     private static List<Holder<Biome>> getBiomes(Registry<Biome> biomeRegistry) {
-        List<String> include = Configs.BIOMES_CONFIG.getIncludeMatching(BiomeAPI.BiomeType.NETHER);
-        List<String> exclude = Configs.BIOMES_CONFIG.getExcludeMatching(BiomeAPI.BiomeType.NETHER);
+        Set<String> include = Configs.BIOMES_CONFIG.getIncludeMatchingSet(BiomeAPI.BiomeType.NETHER);
+        Set<String> exclude = Configs.BIOMES_CONFIG.getExcludeMatchingSet(BiomeAPI.BiomeType.NETHER);
 
         return getBiomes(biomeRegistry, exclude, include, BCLibNetherBiomeSource::isValidNetherBiome);
     }
@@ -193,7 +194,8 @@ public class BCLibNetherBiomeSource extends BCLBiomeSource implements BiomeSourc
 
     @Override
     protected void onInitMap(long seed) {
-        MapBuilderFunction mapConstructor = config.mapVersion.mapBuilder;
+        //the map (or the maps of the stack) is only created once the first biome is requested
+        MapBuilderFunction mapConstructor = LazyBiomeMap.wrap(config.getMapBuilder());
         if (maxHeight > config.biomeSizeVertical * 1.5 && config.useVerticalBiomes) {
             this.biomeMap = new MapStack(
                     seed,
@@ -212,6 +214,11 @@ public class BCLibNetherBiomeSource extends BCLBiomeSource implements BiomeSourc
         }
     }
 
+    @Override
+    protected int getSmallestBiomeSize() {
+        return config.useVerticalBiomes ? Math.min(config.biomeSize, config.biomeSizeVertical) : config.biomeSize;
+    }
+
     @Override
     protected void onHeightChange(int newHeight) {
         initMap(currentSeed);
@@ -4,6 +4,7 @@ import org.betterx.bclib.api.v2.levelgen.biomes.BCLBiome;
 import org.betterx.bclib.api.v2.levelgen.biomes.BCLBiomeRegistry;
 import org.betterx.bclib.util.WeighTree;
 import org.betterx.bclib.util.WeightedList;
+import org.betterx.bclib.util.WeightedSampler;
 
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
@@ -13,18 +14,17 @@ import net.minecraft.world.level.levelgen.WorldgenRandom;
 
 import com.google.common.collect.Lists;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 
 public class BiomePicker {
     private final Map<BCLBiome, ActualBiome> all = new HashMap<>();
+    //all created biomes, indexed by ActualBiome.id
+    private final List<ActualBiome> byId = Lists.newArrayList();
     public final Registry<Biome> biomeRegistry;
     private final List<ActualBiome> biomes = Lists.newArrayList();
     private final List<String> allowedBiomes;
     public final ActualBiome fallbackBiome;
-    private WeighTree<ActualBiome> tree;
+    private volatile Snapshot snapshot;
 
     public BiomePicker(Registry<Biome> biomeRegistry) {
         this(biomeRegistry, null);
@@ -56,7 +56,16 @@ public class BiomePicker {
     }
 
     public ActualBiome getBiome(WorldgenRandom random) {
-        return biomes.isEmpty() ? fallbackBiome : tree.get(random);
+        return biomes.isEmpty() ? fallbackBiome : snapshot.pick(random);
+    }
+
+    /**
+     * Returns the state of this picker at the last call to {@link #rebuild()}.
+     *
+     * @return The current {@link Snapshot}, or {@code null} if the picker was never built.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
     }
 
     public boolean isEmpty() {
@@ -86,11 +95,82 @@ public class BiomePicker {
             list.add(create(BCLBiomeRegistry.EMPTY_BIOME), 1);
         }
 
+        //publish the new state at once, so generating threads never see a partially built picker
+        snapshot = new Snapshot(byId, list);
+    }
 
-        tree = new WeighTree<>(list);
+    /**
+     * Immutable state of a {@link BiomePicker} that can be shared by all generating threads.
+     * <p>
+     * Every {@link ActualBiome} has a dense {@link ActualBiome#id}. Edges, parents and sub-biomes are stored as
+     * such ids in flat arrays, so map implementations can store the id instead of the object.
+     */
+    public static final class Snapshot {
+        private final ActualBiome[] biomes;
+        private final int[] edges;
+        private final int[] parents;
+        //null if the biome has no sub-biomes that can be picked
+        private final WeightedSampler<ActualBiome>[] subBiomes;
+        private final WeighTree<ActualBiome> tree;
+
+        @SuppressWarnings("unchecked")
+        private Snapshot(List<ActualBiome> byId, WeightedList<ActualBiome> list) {
+            final int size = byId.size();
+            this.biomes = byId.toArray(new ActualBiome[size]);
+            this.edges = new int[size];
+            this.parents = new int[size];
+            this.subBiomes = new WeightedSampler[size];
+            for (ActualBiome biome : biomes) {
+                edges[biome.id] = biome.edge == null ? -1 : biome.edge.id;
+                parents[biome.id] = biome.parent == null ? -1 : biome.parent.id;
+                //WeightedList.get does not draw for lists with a total weight below 1
+                subBiomes[biome.id] = biome.subbiomes.getMaxWeight() < 1 ? null : biome.subbiomes.getSampler();
+            }
+            this.tree = new WeighTree<>(list);
+        }
+
+        public int size() {
+            return biomes.length;
+        }
+
+        public ActualBiome get(int id) {
+            return biomes[id];
+        }
+
+        public ActualBiome pick(WorldgenRandom random) {
+            return tree.get(random);
+        }
+
+        /**
+         * @return The id of a random sub-biome of {@code id}, or {@code -1} if it has none
+         */
+        public int getSubBiome(int id, WorldgenRandom random) {
+            final WeightedSampler<ActualBiome> s = subBiomes[id];
+            if (s == null) return -1;
+            final ActualBiome sub = s.get(random);
+            return sub == null ? -1 : sub.id;
+        }
+
+        /**
+         * @return The id of the edge biome of {@code id}, or {@code -1} if it has none
+         */
+        public int getEdge(int id) {
+            return edges[id];
+        }
+
+        /**
+         * @return The id of the parent biome of {@code id}, or {@code -1} if it has none
+         */
+        public int getParent(int id) {
+            return parents[id];
+        }
     }
 
     public class ActualBiome {
+        /**
+         * Dense index of this biome in its picker, see {@link Snapshot}
+         */
+        public final int id;
         public final BCLBiome bclBiome;
         public final Holder<Biome> biome;
         public final ResourceKey<Biome> key;
@@ -102,6 +182,8 @@ public class BiomePicker {
 
         private ActualBiome(BCLBiome bclBiome) {
             all.put(bclBiome, this);
+            this.id = byId.size();
+            byId.add(this);
             this.bclBiome = bclBiome;
 
             this.key = biomeRegistry.getResourceKey(biomeRegistry.get(bclBiome.getID())).orElse(null);
@@ -2,17 +2,21 @@ package org.betterx.bclib.api.v2.generator.config;
 
 import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.generator.BCLibEndBiomeSource;
+import org.betterx.bclib.api.v2.generator.map.BiomeMapRegistry;
 import org.betterx.bclib.api.v2.generator.map.hex.HexBiomeMap;
 import org.betterx.bclib.api.v2.generator.map.square.SquareBiomeMap;
 import org.betterx.worlds.together.biomesource.config.BiomeSourceConfig;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.util.StringRepresentable;
 
 import java.util.Objects;
+import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeSource> {
     public static final BCLEndBiomeSourceConfig VANILLA = new BCLEndBiomeSourceConfig(
@@ -80,7 +84,10 @@ public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeS
                     Codec.INT
                             .fieldOf("barrens_biomes_size")
                             .orElse(DEFAULT.barrensBiomesSize)
-                            .forGetter(o -> o.barrensBiomesSize)
+                            .forGetter(o -> o.barrensBiomesSize),
+                    ResourceLocation.CODEC
+                            .optionalFieldOf("map_implementation")
+                            .forGetter(o -> Optional.ofNullable(o.mapImplementation))
             )
             .apply(instance, BCLEndBiomeSourceConfig::new));
 
@@ -93,8 +100,57 @@ public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeS
             int voidBiomesSize,
             int landBiomesSize,
             int barrensBiomesSize
+    ) {
+        this(
+                mapVersion,
+                generatorVersion,
+                withVoidBiomes,
+                innerVoidRadiusSquared,
+                centerBiomesSize,
+                voidBiomesSize,
+                landBiomesSize,
+                barrensBiomesSize,
+                (ResourceLocation) null
+        );
+    }
+
+    private BCLEndBiomeSourceConfig(
+            @NotNull EndBiomeMapType mapVersion,
+            @NotNull EndBiomeGeneratorType generatorVersion,
+            boolean withVoidBiomes,
+            int innerVoidRadiusSquared,
+            int centerBiomesSize,
+            int voidBiomesSize,
+            int landBiomesSize,
+            int barrensBiomesSize,
+            Optional<ResourceLocation> mapImplementation
+    ) {
+        this(
+                mapVersion,
+                generatorVersion,
+                withVoidBiomes,
+                innerVoidRadiusSquared,
+                centerBiomesSize,
+                voidBiomesSize,
+                landBiomesSize,
+                barrensBiomesSize,
+                mapImplementation.orElse(null)
+        );
+    }
+
+    public BCLEndBiomeSourceConfig(
+            @NotNull EndBiomeMapType mapVersion,
+            @NotNull EndBiomeGeneratorType generatorVersion,
+            boolean withVoidBiomes,
+            int innerVoidRadiusSquared,
+            int centerBiomesSize,
+            int voidBiomesSize,
+            int landBiomesSize,
+            int barrensBiomesSize,
+            @Nullable ResourceLocation mapImplementation
     ) {
         this.mapVersion = mapVersion;
+        this.mapImplementation = mapImplementation;
         this.generatorVersion = generatorVersion;
         this.withVoidBiomes = withVoidBiomes;
         this.innerVoidRadiusSquared = innerVoidRadiusSquared;
@@ -161,6 +217,18 @@ public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeS
     public final int centerBiomesSize;
     public final int landBiomesSize;
     public final int barrensBiomesSize;
+    /**
+     * The {@link BiomeMapRegistry} entry that builds the maps, or {@code null} to use the builder of the
+     * {@link #mapVersion}
+     */
+    public final @Nullable ResourceLocation mapImplementation;
+
+    /**
+     * @return The builder of the selected {@link #mapImplementation}, or the one of the {@link #mapVersion}
+     */
+    public @NotNull MapBuilderFunction getMapBuilder() {
+        return BiomeMapRegistry.getOrDefault(mapImplementation, mapVersion.mapBuilder);
+    }
 
     @Override
     public String toString() {
@@ -173,13 +241,14 @@ public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeS
                 ", centerBiomesSize=" + centerBiomesSize +
                 ", landBiomesSize=" + landBiomesSize +
                 ", barrensBiomesSize=" + barrensBiomesSize +
+                (mapImplementation == null ? "" : ", mapImplementation=" + mapImplementation) +
                 '}';
     }
 
     @Override
     public boolean couldSetWithoutRepair(BiomeSourceConfig<?> input) {
         if (input instanceof BCLEndBiomeSourceConfig cfg) {
-            return withVoidBiomes == cfg.withVoidBiomes && mapVersion == cfg.mapVersion && generatorVersion == cfg.generatorVersion;
+            return withVoidBiomes == cfg.withVoidBiomes && mapVersion == cfg.mapVersion && generatorVersion == cfg.generatorVersion && Objects.equals(mapImplementation, cfg.mapImplementation);
         }
         return false;
     }
@@ -194,7 +263,7 @@ public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeS
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BCLEndBiomeSourceConfig that = (BCLEndBiomeSourceConfig) o;
-        return withVoidBiomes == that.withVoidBiomes && innerVoidRadiusSquared == that.innerVoidRadiusSquared && voidBiomesSize == that.voidBiomesSize && centerBiomesSize == that.centerBiomesSize && landBiomesSize == that.landBiomesSize && barrensBiomesSize == that.barrensBiomesSize && mapVersion == that.mapVersion && generatorVersion == that.generatorVersion;
+        return withVoidBiomes == that.withVoidBiomes && innerVoidRadiusSquared == that.innerVoidRadiusSquared && voidBiomesSize == that.voidBiomesSize && centerBiomesSize == that.centerBiomesSize && landBiomesSize == that.landBiomesSize && barrensBiomesSize == that.barrensBiomesSize && mapVersion == that.mapVersion && generatorVersion == that.generatorVersion && Objects.equals(mapImplementation, that.mapImplementation);
     }
 
     @Override
@@ -207,7 +276,8 @@ public class BCLEndBiomeSourceConfig implements BiomeSourceConfig<BCLibEndBiomeS
                 voidBiomesSize,
                 centerBiomesSize,
                 landBiomesSize,
-                barrensBiomesSize
+                barrensBiomesSize,
+                mapImplementation
         );
     }
 }
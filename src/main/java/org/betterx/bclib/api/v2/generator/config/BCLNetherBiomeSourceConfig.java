@@ -1,17 +1,21 @@
 package org.betterx.bclib.api.v2.generator.config;
 
 import org.betterx.bclib.api.v2.generator.BCLibNetherBiomeSource;
+import org.betterx.bclib.api.v2.generator.map.BiomeMapRegistry;
 import org.betterx.bclib.api.v2.generator.map.hex.HexBiomeMap;
 import org.betterx.bclib.api.v2.generator.map.square.SquareBiomeMap;
 import org.betterx.worlds.together.biomesource.config.BiomeSourceConfig;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.util.StringRepresentable;
 
 import java.util.Objects;
+import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class BCLNetherBiomeSourceConfig implements BiomeSourceConfig<BCLibNetherBiomeSource> {
     public static final BCLNetherBiomeSourceConfig VANILLA = new BCLNetherBiomeSourceConfig(
@@ -46,38 +50,72 @@ public class BCLNetherBiomeSourceConfig implements BiomeSourceConfig<BCLibNether
                              .forGetter(o -> o.biomeSizeVertical),
                     Codec.BOOL.fieldOf("use_vertical_biomes")
                               .orElse(DEFAULT.useVerticalBiomes)
-                              .forGetter(o -> o.useVerticalBiomes)
+                              .forGetter(o -> o.useVerticalBiomes),
+                    ResourceLocation.CODEC.optionalFieldOf("map_implementation")
+                                          .forGetter(o -> Optional.ofNullable(o.mapImplementation))
             )
-            .apply(instance, BCLNetherBiomeSourceConfig::new));
+            .apply(instance, (mapVersion, biomeSize, biomeSizeVertical, useVerticalBiomes, mapImplementation) ->
+                    new BCLNetherBiomeSourceConfig(
+                            mapVersion,
+                            biomeSize,
+                            biomeSizeVertical,
+                            useVerticalBiomes,
+                            mapImplementation.orElse(null)
+                    )
+            ));
     public final @NotNull NetherBiomeMapType mapVersion;
     public final int biomeSize;
     public final int biomeSizeVertical;
 
     public final boolean useVerticalBiomes;
+    /**
+     * The {@link BiomeMapRegistry} entry that builds the map, or {@code null} to use the builder of the
+     * {@link #mapVersion}
+     */
+    public final @Nullable ResourceLocation mapImplementation;
 
     public BCLNetherBiomeSourceConfig(
             @NotNull NetherBiomeMapType mapVersion,
             int biomeSize,
             int biomeSizeVertical,
             boolean useVerticalBiomes
+    ) {
+        this(mapVersion, biomeSize, biomeSizeVertical, useVerticalBiomes, null);
+    }
+
+    public BCLNetherBiomeSourceConfig(
+            @NotNull NetherBiomeMapType mapVersion,
+            int biomeSize,
+            int biomeSizeVertical,
+            boolean useVerticalBiomes,
+            @Nullable ResourceLocation mapImplementation
     ) {
         this.mapVersion = mapVersion;
         this.biomeSize = Mth.clamp(biomeSize, 1, 8192);
         this.biomeSizeVertical = Mth.clamp(biomeSizeVertical, 1, 8192);
         this.useVerticalBiomes = useVerticalBiomes;
+        this.mapImplementation = mapImplementation;
+    }
+
+    /**
+     * @return The builder of the selected {@link #mapImplementation}, or the one of the {@link #mapVersion}
+     */
+    public @NotNull MapBuilderFunction getMapBuilder() {
+        return BiomeMapRegistry.getOrDefault(mapImplementation, mapVersion.mapBuilder);
     }
 
     @Override
     public String toString() {
         return "BCLibNetherBiomeSourceConfig{" +
                 "mapVersion=" + mapVersion +
+                (mapImplementation == null ? "" : ", mapImplementation=" + mapImplementation) +
                 '}';
     }
 
     @Override
     public boolean couldSetWithoutRepair(BiomeSourceConfig<?> input) {
         if (input instanceof BCLNetherBiomeSourceConfig cfg) {
-            return mapVersion == cfg.mapVersion;
+            return mapVersion == cfg.mapVersion && Objects.equals(mapImplementation, cfg.mapImplementation);
         }
         return false;
     }
@@ -92,12 +130,12 @@ public class BCLNetherBiomeSourceConfig implements BiomeSourceConfig<BCLibNether
         if (this == o) return true;
         if (!(o instanceof BCLNetherBiomeSourceConfig)) return false;
         BCLNetherBiomeSourceConfig that = (BCLNetherBiomeSourceConfig) o;
-        return mapVersion == that.mapVersion;
+        return mapVersion == that.mapVersion && Objects.equals(mapImplementation, that.mapImplementation);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(mapVersion);
+        return Objects.hash(mapVersion, mapImplementation);
     }
 
     public enum NetherBiomeMapType implements StringRepresentable {
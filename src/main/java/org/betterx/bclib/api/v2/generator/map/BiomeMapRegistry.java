@@ -0,0 +1,94 @@
+package org.betterx.bclib.api.v2.generator.map;
+
+import org.betterx.bclib.BCLib;
+import org.betterx.bclib.api.v2.generator.config.MapBuilderFunction;
+import org.betterx.bclib.api.v2.generator.map.hex.HexBiomeMap;
+import org.betterx.bclib.api.v2.generator.map.square.SquareBiomeMap;
+import org.betterx.bclib.interfaces.BiomeMap;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Registry of the {@link BiomeMap} implementations a BCL biome source can use.
+ * <p>
+ * The {@code map_implementation} entry of {@link org.betterx.bclib.api.v2.generator.config.BCLEndBiomeSourceConfig}
+ * and {@link org.betterx.bclib.api.v2.generator.config.BCLNetherBiomeSourceConfig} selects one of the registered
+ * builders. If it is missing (or names an unknown implementation) the builder of the {@code map_type} is used.
+ */
+public class BiomeMapRegistry {
+    public static final ResourceLocation HEX = BCLib.makeID("hex");
+    public static final ResourceLocation SQUARE = BCLib.makeID("square");
+    public static final ResourceLocation PRECOMPUTED_HEX = BCLib.makeID("precomputed_hex");
+    public static final ResourceLocation PRECOMPUTED_SQUARE = BCLib.makeID("precomputed_square");
+
+    private static final Map<ResourceLocation, MapBuilderFunction> BUILDERS = new LinkedHashMap<>();
+
+    /**
+     * Registers a new {@link BiomeMap} implementation.
+     *
+     * @param id      The ID that is used in the config of the biome source
+     * @param builder The function that creates a new map
+     */
+    public static synchronized void register(ResourceLocation id, MapBuilderFunction builder) {
+        if (BUILDERS.containsKey(id)) {
+            BCLib.LOGGER.warning("BiomeMap " + id + " was already registered and will be replaced.");
+        }
+        BUILDERS.put(id, builder);
+    }
+
+    /**
+     * Registers a {@link PrecomputedBiomeMap} that falls back to the given procedural map.
+     *
+     * @param id         The ID that is used in the config of the biome source
+     * @param procedural The procedural map that is baked and used outside the precomputed area
+     */
+    public static void registerPrecomputed(ResourceLocation id, MapBuilderFunction procedural) {
+        register(id, (seed, biomeSize, picker) -> new PrecomputedBiomeMap(
+                id,
+                seed,
+                biomeSize,
+                picker,
+                procedural.create(seed, biomeSize, picker)
+        ));
+    }
+
+    @Nullable
+    public static synchronized MapBuilderFunction get(ResourceLocation id) {
+        return BUILDERS.get(id);
+    }
+
+    /**
+     * Returns the builder of a registered implementation.
+     *
+     * @param id       The ID of the implementation or {@code null}
+     * @param fallback The builder to use if {@code id} is {@code null} or not registered
+     * @return The registered builder or the {@code fallback}
+     */
+    public static MapBuilderFunction getOrDefault(@Nullable ResourceLocation id, MapBuilderFunction fallback) {
+        if (id == null) return fallback;
+        final MapBuilderFunction builder = get(id);
+        if (builder == null) {
+            BCLib.LOGGER.warning("Unknown BiomeMap " + id + ". Using the default map.");
+            return fallback;
+        }
+        return builder;
+    }
+
+    public static synchronized Set<ResourceLocation> getIDs() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(BUILDERS.keySet()));
+    }
+
+    static {
+        register(HEX, HexBiomeMap::new);
+        register(SQUARE, SquareBiomeMap::new);
+        registerPrecomputed(PRECOMPUTED_HEX, HexBiomeMap::new);
+        registerPrecomputed(PRECOMPUTED_SQUARE, SquareBiomeMap::new);
+    }
+}
@@ -0,0 +1,79 @@
+package org.betterx.bclib.api.v2.generator.map;
+
+import org.betterx.bclib.api.v2.generator.BiomePicker;
+import org.betterx.bclib.api.v2.generator.config.MapBuilderFunction;
+import org.betterx.bclib.interfaces.BiomeChunk;
+import org.betterx.bclib.interfaces.BiomeMap;
+import org.betterx.bclib.interfaces.TriConsumer;
+
+/**
+ * A {@link BiomeMap} that creates the actual map the first time a biome is requested.
+ * <p>
+ * Biome sources create one map per picker (and per {@link org.betterx.bclib.api.v2.generator.BiomeDecider}),
+ * even if a dimension never asks for some of them. Wrapping the maps moves the construction (and the seeding of
+ * their noise) from world load to the first use. The created map is the same one the builder would have returned
+ * right away, so the generated biomes do not change.
+ */
+public class LazyBiomeMap implements BiomeMap {
+    private final long seed;
+    private final int biomeSize;
+    private final BiomePicker picker;
+    private final MapBuilderFunction builder;
+    private TriConsumer<Integer, Integer, Integer> processor;
+    private volatile BiomeMap map;
+
+    public LazyBiomeMap(long seed, int biomeSize, BiomePicker picker, MapBuilderFunction builder) {
+        this.seed = seed;
+        this.biomeSize = biomeSize;
+        this.picker = picker;
+        this.builder = builder;
+    }
+
+    /**
+     * Wraps a {@link MapBuilderFunction}, so all maps it creates are {@link LazyBiomeMap}s.
+     *
+     * @param builder The builder of the actual maps
+     * @return The wrapped builder
+     */
+    public static MapBuilderFunction wrap(MapBuilderFunction builder) {
+        return (seed, biomeSize, picker) -> new LazyBiomeMap(seed, biomeSize, picker, builder);
+    }
+
+    private BiomeMap get() {
+        BiomeMap m = map;
+        if (m != null) return m;
+
+        synchronized (this) {
+            if (map == null) {
+                m = builder.create(seed, biomeSize, picker);
+                if (processor != null) m.setChunkProcessor(processor);
+                map = m;
+            }
+            return map;
+        }
+    }
+
+    @Override
+    public void setChunkProcessor(TriConsumer<Integer, Integer, Integer> processor) {
+        synchronized (this) {
+            this.processor = processor;
+            if (map != null) map.setChunkProcessor(processor);
+        }
+    }
+
+    @Override
+    public BiomeChunk getChunk(int cx, int cz, boolean update) {
+        return get().getChunk(cx, cz, update);
+    }
+
+    @Override
+    public BiomePicker.ActualBiome getBiome(double x, double y, double z) {
+        return get().getBiome(x, y, z);
+    }
+
+    @Override
+    public void clearCache() {
+        final BiomeMap m = map;
+        if (m != null) m.clearCache();
+    }
+}
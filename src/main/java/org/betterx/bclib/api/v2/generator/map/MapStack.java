@@ -9,9 +9,15 @@ import org.betterx.bclib.noise.OpenSimplexNoise;
 
 import net.minecraft.util.Mth;
 
+import java.util.Arrays;
 import java.util.Random;
 
 public class MapStack implements BiomeMap {
+    //scratch buffers of onChunkCreation, reused by all stacks of a thread
+    private static final ThreadLocal<BiomePicker.ActualBiome[]> MERGE_BUFFER = ThreadLocal.withInitial(
+            () -> new BiomePicker.ActualBiome[0]
+    );
+
     private final OpenSimplexNoise noise;
     private final BiomeMap[] maps;
     private final double layerDistortion;
@@ -19,6 +25,7 @@ public class MapStack implements BiomeMap {
     private final int minValue;
     private final int maxValue;
     private final int maxIndex;
+    private final ThreadLocal<BiomeChunk[]> chunks;
 
     public MapStack(
             long seed,
@@ -35,6 +42,7 @@ public class MapStack implements BiomeMap {
         minValue = Mth.floor(mapHeight * 0.5F + 0.5F);
         maxValue = Mth.floor(worldHeight - mapHeight * 0.5F + 0.5F);
         maps = new BiomeMap[mapCount];
+        chunks = ThreadLocal.withInitial(() -> new BiomeChunk[mapCount]);
         Random random = new Random(seed);
         for (int i = 0; i < mapCount; i++) {
             maps[i] = mapConstructor.create(random.nextLong(), size, picker);
@@ -79,18 +87,25 @@ public class MapStack implements BiomeMap {
     }
 
     private void onChunkCreation(int cx, int cz, int side) {
-        BiomePicker.ActualBiome[][] biomeMap = new BiomePicker.ActualBiome[side][side];
-        BiomeChunk[] chunks = new BiomeChunk[maps.length];
+        final int size = side * side;
+        BiomePicker.ActualBiome[] biomeMap = MERGE_BUFFER.get();
+        if (biomeMap.length < size) {
+            biomeMap = new BiomePicker.ActualBiome[size];
+            MERGE_BUFFER.set(biomeMap);
+        }
+        Arrays.fill(biomeMap, 0, size, null);
+        final BiomeChunk[] chunks = this.chunks.get();
 
         boolean isNoEmpty = false;
         for (int i = 0; i < maps.length; i++) {
             chunks[i] = maps[i].getChunk(cx, cz, false);
             for (int x = 0; x < side; x++) {
+                final int offset = x * side;
                 for (int z = 0; z < side; z++) {
-                    if (biomeMap[x][z] == null) {
+                    if (biomeMap[offset + z] == null) {
                         BiomePicker.ActualBiome biome = chunks[i].getBiome(x, z);
                         if (biome.bclBiome.isVertical()) {
-                            biomeMap[x][z] = biome;
+                            biomeMap[offset + z] = biome;
                             isNoEmpty = true;
                         }
                     }
@@ -101,13 +116,15 @@ public class MapStack implements BiomeMap {
         if (isNoEmpty) {
             for (int i = 0; i < maps.length; i++) {
                 for (int x = 0; x < side; x++) {
+                    final int offset = x * side;
                     for (int z = 0; z < side; z++) {
-                        if (biomeMap[x][z] != null) {
-                            chunks[i].setBiome(x, z, biomeMap[x][z]);
+                        if (biomeMap[offset + z] != null) {
+                            chunks[i].setBiome(x, z, biomeMap[offset + z]);
                         }
                     }
                 }
             }
         }
+        Arrays.fill(chunks, null);
     }
 }
@@ -0,0 +1,337 @@
+package org.betterx.bclib.api.v2.generator.map;
+
+import org.betterx.bclib.BCLib;
+import org.betterx.bclib.api.v2.generator.BiomePicker;
+import org.betterx.bclib.config.Configs;
+import org.betterx.bclib.interfaces.BiomeChunk;
+import org.betterx.bclib.interfaces.BiomeMap;
+import org.betterx.bclib.interfaces.TriConsumer;
+import org.betterx.worlds.together.world.WorldConfig;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A {@link BiomeMap} that stores the biomes of another map for an area around the world origin in a file.
+ * <p>
+ * The area is split into tiles of 64x64 quarts. A tile is computed with the procedural map the first time a biome
+ * inside it is requested and written to a memory-mapped file in the data folder of the world. Later requests (and
+ * later runs of the server) read the stored biome ids. Positions outside the area, positions that are not aligned
+ * to a quart and tiles that are currently computed by another thread are answered by the procedural map.
+ * <p>
+ * The file is named after the map, the seed and a fingerprint of the biomes in the picker, so changing the
+ * installed biomes or their settings never reads ids of an old layout. The stored ids are the
+ * {@link BiomePicker.ActualBiome#id}s of the picker.
+ * <p>
+ * All maps that use the same file share one mapping, so recreating the maps (for example when the biomes are
+ * reloaded) does not map the file again. When the server stops, all changes are written to the files and the
+ * mappings are dropped (see {@link #releaseAll()}). They are unmapped by the garbage collector once no map uses them
+ * anymore. Files that were not used for {@link #STALE_DAYS} days (usually because the world was
+ * recreated with another seed or the installed biomes changed) are deleted when a new file is opened. The age is
+ * the only criterion, as the layers of a {@link MapStack} each use their own seed, so the seed in the name of a
+ * file does not tell if it belongs to the current world.
+ * <p>
+ * Only 2D maps (like {@link org.betterx.bclib.api.v2.generator.map.hex.HexBiomeMap} and
+ * {@link org.betterx.bclib.api.v2.generator.map.square.SquareBiomeMap}) can be stored, the y-coordinate is ignored.
+ */
+public class PrecomputedBiomeMap implements BiomeMap {
+    private static final int MAGIC = 0x42434C4D; //BCLM
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int TILE_BITS = 6;
+    private static final int TILE_SIZE = 1 << TILE_BITS;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private static final int TILE_MISSING = 0;
+    private static final int TILE_BAKING = 1;
+    private static final int TILE_DONE = 2;
+
+    private static final int STALE_DAYS = 14;
+    private static final String FOLDER = "bclib_biome_maps";
+    private static final String EXTENSION = ".bin";
+    //the open files of the current world, shared by all maps that use them
+    private static final Map<File, Storage> OPEN = new HashMap<>();
+
+    private final ResourceLocation id;
+    private final long seed;
+    private final int biomeSize;
+    private final BiomePicker picker;
+    private final BiomeMap procedural;
+    private volatile Storage storage;
+    //the snapshot of our picker, used to resolve the stored ids
+    private BiomePicker.Snapshot snapshot;
+    private volatile boolean disabled;
+
+    public PrecomputedBiomeMap(
+            ResourceLocation id,
+            long seed,
+            int biomeSize,
+            BiomePicker picker,
+            BiomeMap procedural
+    ) {
+        this.id = id;
+        this.seed = seed;
+        this.biomeSize = biomeSize;
+        this.picker = picker;
+        this.procedural = procedural;
+    }
+
+    @Override
+    public void setChunkProcessor(TriConsumer<Integer, Integer, Integer> processor) {
+        procedural.setChunkProcessor(processor);
+    }
+
+    @Override
+    public BiomeChunk getChunk(int cx, int cz, boolean update) {
+        return procedural.getChunk(cx, cz, update);
+    }
+
+    @Override
+    public BiomePicker.ActualBiome getBiome(double x, double y, double z) {
+        final int bx = (int) Math.floor(x);
+        final int bz = (int) Math.floor(z);
+        if (bx != x || bz != z || ((bx | bz) & 3) != 0) return procedural.getBiome(x, y, z);
+
+        final Storage storage = getStorage();
+        if (storage == null || storage.released) return procedural.getBiome(x, y, z);
+
+        final int ix = (bx >> 2) + storage.radius;
+        final int iz = (bz >> 2) + storage.radius;
+        if (ix < 0 || iz < 0 || ix >= storage.side || iz >= storage.side) return procedural.getBiome(x, y, z);
+
+        final int tile = (iz >> TILE_BITS) * storage.tilesPerSide + (ix >> TILE_BITS);
+        if (storage.state.get(tile) != TILE_DONE && !storage.bake(tile, procedural)) {
+            return procedural.getBiome(x, y, z);
+        }
+
+        final int biome = storage.get(tile, ix & TILE_MASK, iz & TILE_MASK);
+        if (biome < 0 || biome >= snapshot.size()) return procedural.getBiome(x, y, z);
+        return snapshot.get(biome);
+    }
+
+    @Override
+    public void clearCache() {
+        procedural.clearCache();
+    }
+
+    private Storage getStorage() {
+        if (disabled) return null;
+        Storage s = storage;
+        if (s != null) return s;
+
+        synchronized (this) {
+            if (disabled) return null;
+            if (storage != null) return storage;
+
+            final int radius = (Configs.GENERATOR_CONFIG.precomputedBiomeMapRadius() + 3) >> 2;
+            final File dataDir = WorldConfig.getDataDir();
+            final BiomePicker.Snapshot snapshot = picker.getSnapshot();
+            if (radius == 0 || dataDir == null || snapshot == null) {
+                disabled = true;
+                return null;
+            }
+
+            try {
+                //maps with the same fingerprint assign the same ids, so they can share the file
+                this.snapshot = snapshot;
+                storage = open(dataDir, radius, fingerprint(snapshot, radius));
+            } catch (IOException e) {
+                BCLib.LOGGER.error("Unable to open precomputed biome map " + id + ". Using procedural map.", e);
+                disabled = true;
+            }
+            return storage;
+        }
+    }
+
+    private Storage open(File dataDir, int radius, long fingerprint) throws IOException {
+        final File folder = new File(dataDir, FOLDER);
+        final String name = id.getNamespace() + "_" + id.getPath()
+                + "_" + Long.toHexString(seed)
+                + "_" + Long.toHexString(fingerprint);
+        final File file = new File(folder, name + EXTENSION).getAbsoluteFile();
+
+        synchronized (OPEN) {
+            Storage s = OPEN.get(file);
+            if (s == null) {
+                if (!folder.exists() && !folder.mkdirs()) throw new IOException("Unable to create " + folder);
+                s = new Storage(file, radius, fingerprint);
+                OPEN.put(file, s);
+                prune(folder);
+            }
+            return s;
+        }
+    }
+
+    /**
+     * Writes all open files to disk and drops their mappings. Maps that are still used afterwards fall back to their
+     * procedural map.
+     * <p>
+     * This is automatically called by BCLib when the server stopped.
+     */
+    public static void releaseAll() {
+        synchronized (OPEN) {
+            OPEN.values().forEach(Storage::release);
+            OPEN.clear();
+        }
+    }
+
+    /**
+     * Deletes all files that were not opened for {@link #STALE_DAYS} days.
+     */
+    private static void prune(File folder) {
+        final File[] files = folder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) return;
+
+        final long staleBefore = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(STALE_DAYS);
+        for (File file : files) {
+            if (OPEN.containsKey(file.getAbsoluteFile())) continue;
+            if (file.lastModified() < staleBefore) {
+                if (file.delete()) {
+                    BCLib.LOGGER.debug("Deleted outdated precomputed biome map " + file.getName());
+                } else {
+                    BCLib.LOGGER.debug("Unable to delete outdated precomputed biome map " + file.getName());
+                }
+            }
+        }
+    }
+
+    private long fingerprint(BiomePicker.Snapshot snapshot, int radius) {
+        long hash = VERSION;
+        hash = hash * 31 + id.hashCode();
+        hash = hash * 31 + seed;
+        hash = hash * 31 + biomeSize;
+        hash = hash * 31 + radius;
+        for (int i = 0; i < snapshot.size(); i++) {
+            final BiomePicker.ActualBiome biome = snapshot.get(i);
+            hash = hash * 31 + biome.bclBiome.getID().hashCode();
+            hash = hash * 31 + Float.floatToIntBits(biome.bclBiome.getGenChance());
+            hash = hash * 31 + biome.bclBiome.getEdgeSize();
+            hash = hash * 31 + snapshot.getEdge(i);
+            hash = hash * 31 + snapshot.getParent(i);
+            hash = hash * 31 + (biome.isValid ? 1 : 0);
+            final long[] sub = {0};
+            biome.bclBiome.forEachSubBiome((b, w) -> {
+                sub[0] = sub[0] * 31 + b.getID().hashCode();
+                sub[0] = sub[0] * 31 + Float.floatToIntBits(w);
+            });
+            hash = hash * 31 + sub[0];
+        }
+        return hash;
+    }
+
+    private static class Storage {
+        private final int radius;
+        private final int side;
+        private final int tilesPerSide;
+        private final int dataStart;
+        private final MappedByteBuffer buffer;
+        private final AtomicIntegerArray state;
+        private volatile boolean released;
+
+        private Storage(File file, int radius, long fingerprint) throws IOException {
+            this.radius = radius;
+            this.side = radius * 2;
+            this.tilesPerSide = (side + TILE_MASK) >> TILE_BITS;
+            final int tiles = tilesPerSide * tilesPerSide;
+            this.dataStart = (HEADER_SIZE + tiles + 1) & ~1;
+            final long length = dataStart + (long) tiles * TILE_SIZE * TILE_SIZE * 2;
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                final boolean existed = raf.length() == length;
+                if (!existed) raf.setLength(length);
+                this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+                if (!existed || !validHeader(fingerprint)) {
+                    for (int i = HEADER_SIZE; i < dataStart; i++) buffer.put(i, (byte) 0);
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, VERSION);
+                    buffer.putLong(8, fingerprint);
+                    buffer.putInt(16, radius);
+                    buffer.putInt(20, tilesPerSide);
+                }
+            }
+            //the age of a file tells prune() if it is still in use
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                BCLib.LOGGER.debug("Unable to update the modification date of " + file.getName());
+            }
+
+            this.state = new AtomicIntegerArray(tiles);
+            int done = 0;
+            for (int i = 0; i < tiles; i++) {
+                if (buffer.get(HEADER_SIZE + i) != 0) {
+                    state.set(i, TILE_DONE);
+                    done++;
+                }
+            }
+            BCLib.LOGGER.debug("Opened precomputed biome map " + file.getName() + " (" + done + "/" + tiles + " tiles)");
+        }
+
+        /**
+         * Writes all changes to the file. The buffer is not unmapped explicitly, as other threads may still read or
+         * bake a tile, and touching an unmapped buffer crashes the JVM. The garbage collector unmaps it once the last
+         * map that uses it is gone.
+         */
+        private void release() {
+            if (released) return;
+            released = true;
+            buffer.force();
+        }
+
+        private boolean validHeader(long fingerprint) {
+            return buffer.getInt(0) == MAGIC
+                    && buffer.getInt(4) == VERSION
+                    && buffer.getLong(8) == fingerprint
+                    && buffer.getInt(16) == radius
+                    && buffer.getInt(20) == tilesPerSide;
+        }
+
+        private int get(int tile, int lx, int lz) {
+            return buffer.getShort(offset(tile, lx, lz));
+        }
+
+        private int offset(int tile, int lx, int lz) {
+            return dataStart + (((tile << (TILE_BITS * 2)) | (lz << TILE_BITS) | lx) << 1);
+        }
+
+        /**
+         * Computes and stores a tile.
+         *
+         * @return {@code false} if another thread is already computing the tile
+         */
+        private boolean bake(int tile, BiomeMap procedural) {
+            if (!state.compareAndSet(tile, TILE_MISSING, TILE_BAKING)) return state.get(tile) == TILE_DONE;
+
+            final int startX = (tile % tilesPerSide) * TILE_SIZE - radius;
+            final int startZ = (tile / tilesPerSide) * TILE_SIZE - radius;
+            try {
+                for (int lz = 0; lz < TILE_SIZE; lz++) {
+                    for (int lx = 0; lx < TILE_SIZE; lx++) {
+                        final BiomePicker.ActualBiome biome = procedural.getBiome(
+                                (startX + lx) << 2,
+                                0,
+                                (startZ + lz) << 2
+                        );
+                        final int biomeID = biome == null || biome.id > Short.MAX_VALUE ? -1 : biome.id;
+                        buffer.putShort(offset(tile, lx, lz), (short) biomeID);
+                    }
+                }
+            } catch (RuntimeException e) {
+                state.set(tile, TILE_MISSING);
+                throw e;
+            }
+
+            //the flag is written last, so an interrupted run never marks a partially written tile
+            buffer.put(HEADER_SIZE + tile, (byte) 1);
+            state.set(tile, TILE_DONE);
+            return true;
+        }
+    }
+}
@@ -20,13 +20,20 @@ public class HexBiomeChunk implements BiomeChunk {
     private static final byte SIDE_PRE_OFFSET = (byte) Math.round(Math.log(SIDE_PRE) / Math.log(2));
     private static final short[][] NEIGHBOURS;
 
-    private final BiomePicker.ActualBiome[] biomes = new BiomePicker.ActualBiome[SIZE];
+    private static final short EMPTY = -1;
+    //the two build buffers are only needed while a chunk is created, so every thread reuses its own
+    private static final ThreadLocal<short[][]> BUFFERS = ThreadLocal.withInitial(() -> new short[2][SIZE]);
+
+    //ids of the biomes in the snapshot of the picker, EMPTY for cells without a biome
+    private final short[] biomes = new short[SIZE];
+    private final BiomePicker.Snapshot snapshot;
 
     public HexBiomeChunk(WorldgenRandom random, BiomePicker picker) {
-        BiomePicker.ActualBiome[][] buffers = new BiomePicker.ActualBiome[2][SIZE];
+        this.snapshot = picker.getSnapshot();
+        short[][] buffers = BUFFERS.get();
 
-        for (BiomePicker.ActualBiome[] buffer : buffers) {
-            Arrays.fill(buffer, null);
+        for (short[] buffer : buffers) {
+            Arrays.fill(buffer, EMPTY);
         }
 
         for (byte index = 0; index < SIZE_PRE; index++) {
@@ -34,15 +41,15 @@ public class HexBiomeChunk implements BiomeChunk {
             byte pz = (byte) (index & SIDE_PRE_MASK);
             px = (byte) (px * SCALE_PRE + random.nextInt(SCALE_PRE));
             pz = (byte) (pz * SCALE_PRE + random.nextInt(SCALE_PRE));
-            circle(buffers[0], getIndex(px, pz), picker.getBiome(random), null);
+            circle(buffers[0], getIndex(px, pz), (short) picker.getBiome(random).id, EMPTY);
         }
 
         boolean hasEmptyCells = true;
         byte bufferIndex = 0;
         while (hasEmptyCells) {
-            BiomePicker.ActualBiome[] inBuffer = buffers[bufferIndex];
+            short[] inBuffer = buffers[bufferIndex];
             bufferIndex = (byte) ((bufferIndex + 1) & 1);
-            BiomePicker.ActualBiome[] outBuffer = buffers[bufferIndex];
+            short[] outBuffer = buffers[bufferIndex];
             hasEmptyCells = false;
 
             for (short index = SIDE; index < MAX_SIDE; index++) {
@@ -50,11 +57,11 @@ public class HexBiomeChunk implements BiomeChunk {
                 if (z == 0 || z == SIDE_MASK) {
                     continue;
                 }
-                if (inBuffer[index] != null) {
+                if (inBuffer[index] != EMPTY) {
                     outBuffer[index] = inBuffer[index];
                     short[] neighbours = getNeighbours(index & SIDE_MASK);
                     short indexSide = (short) (index + neighbours[random.nextInt(6)]);
-                    if (indexSide >= 0 && indexSide < SIZE && outBuffer[indexSide] == null) {
+                    if (indexSide >= 0 && indexSide < SIZE && outBuffer[indexSide] == EMPTY) {
                         outBuffer[indexSide] = inBuffer[index];
                     }
                 } else {
@@ -63,7 +70,7 @@ public class HexBiomeChunk implements BiomeChunk {
             }
         }
 
-        BiomePicker.ActualBiome[] outBuffer = buffers[bufferIndex];
+        short[] outBuffer = buffers[bufferIndex];
         byte preN = (byte) (SIDE_MASK - 2);
         for (byte index = 0; index < SIDE; index++) {
             outBuffer[getIndex(index, (byte) 0)] = outBuffer[getIndex(index, (byte) 2)];
@@ -73,10 +80,10 @@ public class HexBiomeChunk implements BiomeChunk {
         }
 
         for (short index = 0; index < SIZE; index++) {
-            if (outBuffer[index] == null) {
-                outBuffer[index] = picker.getBiome(random);
+            if (outBuffer[index] == EMPTY) {
+                outBuffer[index] = (short) picker.getBiome(random).id;
             } else if (random.nextInt(4) == 0) {
-                circle(outBuffer, index, outBuffer[index].getSubBiome(random), outBuffer[index]);
+                circle(outBuffer, index, (short) snapshot.getSubBiome(outBuffer[index], random), outBuffer[index]);
             }
         }
 
@@ -84,10 +91,10 @@ public class HexBiomeChunk implements BiomeChunk {
     }
 
     private void circle(
-            BiomePicker.ActualBiome[] buffer,
+            short[] buffer,
             short center,
-            BiomePicker.ActualBiome biome,
-            BiomePicker.ActualBiome mask
+            short biome,
+            short mask
     ) {
         if (buffer[center] == mask) {
             buffer[center] = biome;
@@ -111,12 +118,13 @@ public class HexBiomeChunk implements BiomeChunk {
 
     @Override
     public BiomePicker.ActualBiome getBiome(int x, int z) {
-        return biomes[getIndex(wrap(x), wrap(z))];
+        final short id = biomes[getIndex(wrap(x), wrap(z))];
+        return id == EMPTY ? null : snapshot.get(id);
     }
 
     @Override
     public void setBiome(int x, int z, BiomePicker.ActualBiome biome) {
-        biomes[getIndex(wrap(x), wrap(z))] = biome;
+        biomes[getIndex(wrap(x), wrap(z))] = biome == null ? EMPTY : (short) biome.id;
     }
 
     @Override
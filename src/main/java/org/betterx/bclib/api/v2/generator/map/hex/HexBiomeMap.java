@@ -24,6 +24,7 @@ public class HexBiomeMap implements BiomeMap {
     private static final float COS = (float) Math.cos(0.4);
     private static final float[] EDGE_CIRCLE_X;
     private static final float[] EDGE_CIRCLE_Z;
+    private static final int MAX_CACHED_CHUNKS = 127;
 
     private final Map<ChunkPos, HexBiomeChunk> chunks = Maps.newConcurrentMap();
     private final BiomePicker picker;
@@ -47,7 +48,7 @@ public class HexBiomeMap implements BiomeMap {
 
     @Override
     public void clearCache() {
-        if (chunks.size() > 127) {
+        if (chunks.size() > MAX_CACHED_CHUNKS) {
             chunks.clear();
         }
     }
@@ -86,6 +87,8 @@ public class HexBiomeMap implements BiomeMap {
             if (update && processor != null) {
                 processor.accept(cx, cz, chunk.getSide());
             }
+            //keep the cache bounded without relying on periodic calls to clearCache
+            clearCache();
             chunks.put(pos, chunk);
         }
         return chunk;
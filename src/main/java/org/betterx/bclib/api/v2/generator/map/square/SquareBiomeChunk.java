@@ -16,35 +16,43 @@ public class SquareBiomeChunk implements BiomeChunk {
     private static final int SM_CAPACITY = SM_WIDTH * SM_WIDTH;
     private static final int CAPACITY = WIDTH * WIDTH;
 
-    private final BiomePicker.ActualBiome[] biomes;
+    private static final short EMPTY = -1;
+    private static final ThreadLocal<short[]> PRE_BUFFER = ThreadLocal.withInitial(() -> new short[SM_CAPACITY]);
+
+    //ids of the biomes in the snapshot of the picker, EMPTY for cells without a biome
+    private final short[] biomes;
+    private final BiomePicker.Snapshot snapshot;
 
     public SquareBiomeChunk(WorldgenRandom random, BiomePicker picker) {
-        BiomePicker.ActualBiome[] PreBio = new BiomePicker.ActualBiome[SM_CAPACITY];
-        biomes = new BiomePicker.ActualBiome[CAPACITY];
+        snapshot = picker.getSnapshot();
+        short[] PreBio = PRE_BUFFER.get();
+        biomes = new short[CAPACITY];
 
         for (int x = 0; x < SM_WIDTH; x++) {
             int offset = x << SM_BIT_OFFSET;
             for (int z = 0; z < SM_WIDTH; z++) {
-                PreBio[offset | z] = picker.getBiome(random);
+                PreBio[offset | z] = (short) picker.getBiome(random).id;
             }
         }
 
         for (int x = 0; x < WIDTH; x++) {
             int offset = x << BIT_OFFSET;
             for (int z = 0; z < WIDTH; z++) {
-                biomes[offset | z] = PreBio[getSmIndex(offsetXZ(x, random), offsetXZ(z, random))].getSubBiome(random);
+                final short parent = PreBio[getSmIndex(offsetXZ(x, random), offsetXZ(z, random))];
+                biomes[offset | z] = (short) snapshot.getSubBiome(parent, random);
             }
         }
     }
 
     @Override
     public BiomePicker.ActualBiome getBiome(int x, int z) {
-        return biomes[getIndex(x & MASK_WIDTH, z & MASK_WIDTH)];
+        final short id = biomes[getIndex(x & MASK_WIDTH, z & MASK_WIDTH)];
+        return id == EMPTY ? null : snapshot.get(id);
     }
 
     @Override
     public void setBiome(int x, int z, BiomePicker.ActualBiome biome) {
-        biomes[getIndex(x & MASK_WIDTH, z & MASK_WIDTH)] = biome;
+        biomes[getIndex(x & MASK_WIDTH, z & MASK_WIDTH)] = biome == null ? EMPTY : (short) biome.id;
     }
 
     @Override
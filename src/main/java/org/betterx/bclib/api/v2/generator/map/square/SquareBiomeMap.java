@@ -16,6 +16,8 @@ import com.google.common.collect.Maps;
 import java.util.Map;
 
 public class SquareBiomeMap implements BiomeMap {
+    private static final int MAX_CACHED_CHUNKS = 32;
+
     private final Map<ChunkPos, SquareBiomeChunk> maps = Maps.newHashMap();
     private final OpenSimplexNoise noiseX;
     private final OpenSimplexNoise noiseZ;
@@ -40,7 +42,7 @@ public class SquareBiomeMap implements BiomeMap {
 
     @Override
     public void clearCache() {
-        if (maps.size() > 32) {
+        if (maps.size() > MAX_CACHED_CHUNKS) {
             maps.clear();
         }
     }
@@ -87,6 +89,8 @@ public class SquareBiomeMap implements BiomeMap {
                 random.setLargeFeatureWithSalt(0, cpos.x, cpos.z, 0);
                 chunk = new SquareBiomeChunk(random, picker);
             }
+            //keep the cache bounded without relying on periodic calls to clearCache
+            clearCache();
             maps.put(cpos, chunk);
 
             if (update && processor != null) {
@@ -135,6 +139,8 @@ public class SquareBiomeMap implements BiomeMap {
                 random.setLargeFeatureWithSalt(0, cpos.x, cpos.z, 0);
                 chunk = new SquareBiomeChunk(random, picker);
             }
+            //keep the cache bounded without relying on periodic calls to clearCache
+            clearCache();
             maps.put(cpos, chunk);
         }
 
@@ -6,8 +6,10 @@ import org.betterx.bclib.api.v2.dataexchange.DataExchangeAPI;
 import org.betterx.bclib.api.v2.datafixer.DataFixerAPI;
 import org.betterx.bclib.api.v2.generator.BCLibEndBiomeSource;
 import org.betterx.bclib.api.v2.generator.config.BCLEndBiomeSourceConfig;
+import org.betterx.bclib.api.v2.generator.map.PrecomputedBiomeMap;
 import org.betterx.bclib.api.v2.levelgen.biomes.InternalBiomeAPI;
 import org.betterx.bclib.api.v2.poi.PoiManager;
+import org.betterx.bclib.noise.Noises;
 import org.betterx.bclib.registry.PresetsRegistry;
 import org.betterx.worlds.together.tag.v3.TagManager;
 import org.betterx.worlds.together.world.WorldConfig;
@@ -25,6 +27,8 @@ import net.minecraft.world.level.levelgen.WorldGenSettings;
 import net.minecraft.world.level.levelgen.presets.WorldPreset;
 import net.minecraft.world.level.storage.LevelStorageSource;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +53,8 @@ public class LevelGenEvents {
         WorldEvents.ADAPT_WORLD_PRESET.on(LevelGenEvents::adaptWorldPresetSettings);
 
         WorldEvents.BEFORE_ADDING_TAGS.on(LevelGenEvents::appplyTags);
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> PrecomputedBiomeMap.releaseAll());
     }
 
 
@@ -99,7 +105,8 @@ public class LevelGenEvents {
                                     inputConfig.centerBiomesSize,
                                     inputConfig.voidBiomesSize,
                                     inputConfig.landBiomesSize,
-                                    inputConfig.barrensBiomesSize
+                                    inputConfig.barrensBiomesSize,
+                                    inputConfig.mapImplementation
                             ));
                         }
                     }
@@ -111,6 +118,7 @@ public class LevelGenEvents {
 
     private static void onRegistryReady(RegistryAccess a) {
         InternalBiomeAPI.initRegistry(a);
+        Noises.invalidate();
     }
 
     private static void prepareWorld(
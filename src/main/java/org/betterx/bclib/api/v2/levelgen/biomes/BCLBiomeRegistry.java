@@ -16,6 +16,10 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.KeyDispatchDataCodec;
 import net.minecraft.world.level.biome.Biomes;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.ApiStatus;
@@ -74,6 +78,8 @@ public class BCLBiomeRegistry {
                 biome.getBCLBiomeKey(),
                 biome
         );
+        BiomeLookup.invalidate();
+        typeIndex = null;
         return biome.getBCLBiomeKey();
     }
 
@@ -144,11 +150,43 @@ public class BCLBiomeRegistry {
     }
 
     public static Stream<ResourceKey<BCLBiome>> getAll(RegistryAccess access, BiomeAPI.BiomeType dim) {
-        return getBclBiomesRegistry(access)
-                .entrySet()
-                .stream()
-                .filter(e -> e.getValue().getIntendedType().is(dim))
-                .map(e -> e.getKey());
+        return getTypeIndex(getBclBiomesRegistry(access)).getOrDefault(dim, List.of()).stream();
+    }
+
+    /**
+     * The keys of all biomes in a registry, grouped by their intended type and all parents of that type.
+     *
+     * @param registry The registry the index was built for
+     * @param size     The size of the registry when the index was built
+     * @param byType   The keys for every type, in registry order
+     */
+    private record TypeIndex(
+            Registry<BCLBiome> registry,
+            int size,
+            Map<BiomeAPI.BiomeType, List<ResourceKey<BCLBiome>>> byType
+    ) {
+        static TypeIndex build(Registry<BCLBiome> registry) {
+            final Map<BiomeAPI.BiomeType, List<ResourceKey<BCLBiome>>> byType = new HashMap<>();
+            for (Map.Entry<ResourceKey<BCLBiome>, BCLBiome> e : registry.entrySet()) {
+                for (BiomeAPI.BiomeType type = e.getValue().getIntendedType(); type != null; type = type.parentOrNull) {
+                    byType.computeIfAbsent(type, t -> new ArrayList<>()).add(e.getKey());
+                }
+            }
+            byType.replaceAll((type, keys) -> List.copyOf(keys));
+            return new TypeIndex(registry, registry.keySet().size(), Map.copyOf(byType));
+        }
+    }
+
+    private static volatile TypeIndex typeIndex;
+
+    private static Map<BiomeAPI.BiomeType, List<ResourceKey<BCLBiome>>> getTypeIndex(Registry<BCLBiome> registry) {
+        TypeIndex index = typeIndex;
+        //registries only grow until they are frozen, so the size tells us if new biomes were added
+        if (index == null || index.registry != registry || index.size != registry.keySet().size()) {
+            index = TypeIndex.build(registry);
+            typeIndex = index;
+        }
+        return index.byType;
     }
 
     private static Registry<BCLBiome> getBclBiomesRegistry(RegistryAccess access) {
@@ -3,9 +3,6 @@ package org.betterx.bclib.api.v2.levelgen.biomes;
 import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v3.levelgen.features.BCLFeature;
 import org.betterx.bclib.interfaces.SurfaceMaterialProvider;
-import org.betterx.bclib.mixin.common.BiomeGenerationSettingsAccessor;
-import org.betterx.bclib.mixin.common.MobSpawnSettingsAccessor;
-import org.betterx.bclib.util.CollectionsUtil;
 import org.betterx.worlds.together.tag.v3.CommonBiomeTags;
 import org.betterx.worlds.together.tag.v3.TagManager;
 import org.betterx.worlds.together.world.event.WorldBootstrap;
@@ -14,16 +11,13 @@ import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
-import net.minecraft.core.HolderSet;
 import net.minecraft.core.Registry;
 import net.minecraft.data.BuiltinRegistries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.BiomeTags;
-import net.minecraft.util.random.WeightedRandomList;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.Mob;
-import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.WorldGenLevel;
@@ -37,20 +31,15 @@ import net.minecraft.world.level.chunk.PalettedContainerRO;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.levelgen.GenerationStep.Decoration;
 import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
-import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.placement.PlacedFeature;
 
 import net.fabricmc.fabric.api.biome.v1.NetherBiomes;
 import net.fabricmc.fabric.api.biome.v1.TheEndBiomes;
 
-import com.google.common.base.Suppliers;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import java.util.*;
 import java.util.function.BiConsumer;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -565,7 +554,7 @@ public class BiomeAPI {
      * @return {@link BCLBiome} or {@code BiomeAPI.EMPTY_BIOME}.
      */
     public static BCLBiome getBiome(Biome biome) {
-        return getBiome(BiomeAPI.getBiomeID(biome));
+        return BiomeLookup.get(biome).biome();
     }
 
     /**
@@ -575,7 +564,7 @@ public class BiomeAPI {
      * @return {@link BCLBiome} or {@code BiomeAPI.EMPTY_BIOME}.
      */
     public static BCLBiome getBiome(Holder<Biome> biome) {
-        return getBiome(BiomeAPI.getBiomeID(biome));
+        return BiomeLookup.get(biome).biome();
     }
 
     /**
@@ -769,33 +758,7 @@ public class BiomeAPI {
             Decoration step,
             List<Holder<PlacedFeature>> additionalFeatures
     ) {
-        BiomeGenerationSettingsAccessor accessor = (BiomeGenerationSettingsAccessor) biome.value()
-                                                                                          .getGenerationSettings();
-        List<HolderSet<PlacedFeature>> allFeatures = CollectionsUtil.getMutable(accessor.bclib_getFeatures());
-        List<Holder<PlacedFeature>> features = getFeaturesListCopy(allFeatures, step);
-
-        for (var feature : additionalFeatures) {
-            if (!features.contains(feature))
-                features.add(feature);
-        }
-
-        allFeatures.set(step.ordinal(), HolderSet.direct(features));
-        final Supplier<List<ConfiguredFeature<?, ?>>> flowerFeatures = Suppliers.memoize(() -> allFeatures.stream()
-                                                                                                          .flatMap(
-                                                                                                                  HolderSet::stream)
-                                                                                                          .map(Holder::value)
-                                                                                                          .flatMap(
-                                                                                                                  PlacedFeature::getFeatures)
-                                                                                                          .filter(configuredFeature -> configuredFeature.feature() == Feature.FLOWER)
-                                                                                                          .collect(
-                                                                                                                  ImmutableList.toImmutableList()));
-        final Supplier<Set<PlacedFeature>> featureSet = Suppliers.memoize(() -> allFeatures.stream()
-                                                                                           .flatMap(HolderSet::stream)
-                                                                                           .map(Holder::value)
-                                                                                           .collect(Collectors.toSet()));
-        accessor.bclib_setFeatures(allFeatures);
-        accessor.bclib_setFeatureSet(featureSet);
-        accessor.bclib_setFlowerFeatures(flowerFeatures);
+        BiomeChangeSet.record(changes -> changes.addFeatures(biome, step, additionalFeatures));
     }
 
 
@@ -815,29 +778,21 @@ public class BiomeAPI {
             int minGroupCount,
             int maxGroupCount
     ) {
-        final MobCategory category = entityType.getCategory();
-        MobSpawnSettingsAccessor accessor = (MobSpawnSettingsAccessor) biome.value().getMobSettings();
-        Map<MobCategory, WeightedRandomList<SpawnerData>> spawners = CollectionsUtil.getMutable(accessor.bcl_getSpawners());
-        List<SpawnerData> mobs = spawners.containsKey(category)
-                ? CollectionsUtil.getMutable(spawners.get(category)
-                                                     .unwrap())
-                : Lists.newArrayList();
-        mobs.add(new SpawnerData(entityType, weight, minGroupCount, maxGroupCount));
-        spawners.put(category, WeightedRandomList.create(mobs));
-        accessor.bcl_setSpawners(spawners);
+        final SpawnerData spawn = new SpawnerData(entityType, weight, minGroupCount, maxGroupCount);
+        BiomeChangeSet.record(changes -> changes.addMobSpawn(biome, entityType.getCategory(), spawn));
     }
 
 
     public static Optional<BlockState> findTopMaterial(WorldGenLevel world, BlockPos pos) {
-        return findTopMaterial(getBiome(world.getBiome(pos)));
+        return BiomeLookup.get(world.getBiome(pos).value()).topMaterial();
     }
 
     public static Optional<BlockState> findTopMaterial(Holder<Biome> biome) {
-        return findTopMaterial(getBiome(biome.value()));
+        return BiomeLookup.get(biome.value()).topMaterial();
     }
 
     public static Optional<BlockState> findTopMaterial(Biome biome) {
-        return findTopMaterial(getBiome(biome));
+        return BiomeLookup.get(biome).topMaterial();
     }
 
     public static Optional<BlockState> findTopMaterial(BCLBiome biome) {
@@ -848,7 +803,7 @@ public class BiomeAPI {
     }
 
     public static Optional<BlockState> findUnderMaterial(Holder<Biome> biome) {
-        return findUnderMaterial(getBiome(biome.value()));
+        return BiomeLookup.get(biome.value()).underMaterial();
     }
 
     public static Optional<BlockState> findUnderMaterial(BCLBiome biome) {
@@ -912,19 +867,4 @@ public class BiomeAPI {
 //        });
     }
 
-
-    private static List<Holder<PlacedFeature>> getFeaturesListCopy(
-            List<HolderSet<PlacedFeature>> features,
-            Decoration step
-    ) {
-        return getFeaturesListCopy(features, step.ordinal());
-    }
-
-    private static List<Holder<PlacedFeature>> getFeaturesListCopy(List<HolderSet<PlacedFeature>> features, int index) {
-        while (features.size() <= index) {
-            features.add(HolderSet.direct(Lists.newArrayList()));
-        }
-        return features.get(index).stream().collect(Collectors.toList());
-    }
-
 }
@@ -0,0 +1,170 @@
+package org.betterx.bclib.api.v2.levelgen.biomes;
+
+import org.betterx.bclib.mixin.common.BiomeGenerationSettingsAccessor;
+import org.betterx.bclib.mixin.common.MobSpawnSettingsAccessor;
+import org.betterx.bclib.util.CollectionsUtil;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.util.random.WeightedRandomList;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.MobSpawnSettings.SpawnerData;
+import net.minecraft.world.level.levelgen.GenerationStep.Decoration;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Collects feature and mob spawn additions for biomes and applies them in a single pass.
+ * <p>
+ * While a change set is active on a thread (see {@link #run(Runnable)}), {@link BiomeAPI#addBiomeFeature} and
+ * {@link BiomeAPI#addBiomeMobSpawn} only record their changes. When the change set is applied, every biome gets
+ * one new feature list per changed step (without duplicates), one new spawn list per changed category and a
+ * single rebuild of the memoized feature and flower sets.
+ * <p>
+ * Changes are only visible in the biome once the set is applied.
+ */
+public class BiomeChangeSet {
+    private static final ThreadLocal<BiomeChangeSet> ACTIVE = new ThreadLocal<>();
+
+    private static class Changes {
+        private final Holder<Biome> biome;
+        private final Map<Decoration, LinkedHashSet<Holder<PlacedFeature>>> features = new EnumMap<>(Decoration.class);
+        private final Map<MobCategory, List<SpawnerData>> spawns = new EnumMap<>(MobCategory.class);
+
+        private Changes(Holder<Biome> biome) {
+            this.biome = biome;
+        }
+    }
+
+    //keyed by the Biome instance, a biome can be reached through different holders
+    private final Map<Biome, Changes> changes = new IdentityHashMap<>();
+    private final List<Changes> order = new ArrayList<>();
+
+    /**
+     * Runs the code with a new active change set and applies the collected changes afterwards. Calls can be
+     * nested, in which case the inner call records into the outer change set.
+     *
+     * @param code The code that modifies biomes
+     */
+    public static void run(Runnable code) {
+        if (ACTIVE.get() != null) {
+            code.run();
+            return;
+        }
+
+        final BiomeChangeSet changeSet = new BiomeChangeSet();
+        ACTIVE.set(changeSet);
+        try {
+            code.run();
+        } finally {
+            ACTIVE.remove();
+            changeSet.apply();
+        }
+    }
+
+    /**
+     * Records a change in the active change set. Without an active change set, the change is applied at once.
+     *
+     * @param change The change to record
+     */
+    static void record(Consumer<BiomeChangeSet> change) {
+        final BiomeChangeSet active = ACTIVE.get();
+        if (active != null) {
+            change.accept(active);
+        } else {
+            final BiomeChangeSet changeSet = new BiomeChangeSet();
+            change.accept(changeSet);
+            changeSet.apply();
+        }
+    }
+
+    private Changes changesFor(Holder<Biome> biome) {
+        return changes.computeIfAbsent(biome.value(), b -> {
+            final Changes c = new Changes(biome);
+            order.add(c);
+            return c;
+        });
+    }
+
+    public void addFeatures(Holder<Biome> biome, Decoration step, List<Holder<PlacedFeature>> features) {
+        changesFor(biome).features.computeIfAbsent(step, s -> new LinkedHashSet<>()).addAll(features);
+    }
+
+    public void addMobSpawn(Holder<Biome> biome, MobCategory category, SpawnerData spawn) {
+        changesFor(biome).spawns.computeIfAbsent(category, c -> new ArrayList<>()).add(spawn);
+    }
+
+    /**
+     * Writes all collected changes to the biomes and clears this change set.
+     */
+    public void apply() {
+        for (Changes c : order) {
+            if (!c.features.isEmpty()) applyFeatures(c.biome.value(), c.features);
+            if (!c.spawns.isEmpty()) applySpawns(c.biome.value(), c.spawns);
+        }
+        changes.clear();
+        order.clear();
+    }
+
+    private static void applyFeatures(Biome biome, Map<Decoration, LinkedHashSet<Holder<PlacedFeature>>> added) {
+        BiomeGenerationSettingsAccessor accessor = (BiomeGenerationSettingsAccessor) biome.getGenerationSettings();
+        List<HolderSet<PlacedFeature>> allFeatures = CollectionsUtil.getMutable(accessor.bclib_getFeatures());
+
+        for (Map.Entry<Decoration, LinkedHashSet<Holder<PlacedFeature>>> entry : added.entrySet()) {
+            final int index = entry.getKey().ordinal();
+            while (allFeatures.size() <= index) {
+                allFeatures.add(HolderSet.direct(new ArrayList<>()));
+            }
+            final List<Holder<PlacedFeature>> features = allFeatures.get(index)
+                                                                    .stream()
+                                                                    .collect(Collectors.toCollection(ArrayList::new));
+            final Set<Holder<PlacedFeature>> present = new HashSet<>(features);
+            for (Holder<PlacedFeature> feature : entry.getValue()) {
+                if (present.add(feature)) features.add(feature);
+            }
+            allFeatures.set(index, HolderSet.direct(features));
+        }
+
+        final Supplier<List<ConfiguredFeature<?, ?>>> flowerFeatures = Suppliers.memoize(
+                () -> allFeatures.stream()
+                                 .flatMap(HolderSet::stream)
+                                 .map(Holder::value)
+                                 .flatMap(PlacedFeature::getFeatures)
+                                 .filter(configuredFeature -> configuredFeature.feature() == Feature.FLOWER)
+                                 .collect(ImmutableList.toImmutableList())
+        );
+        final Supplier<Set<PlacedFeature>> featureSet = Suppliers.memoize(
+                () -> allFeatures.stream()
+                                 .flatMap(HolderSet::stream)
+                                 .map(Holder::value)
+                                 .collect(Collectors.toSet())
+        );
+        accessor.bclib_setFeatures(allFeatures);
+        accessor.bclib_setFeatureSet(featureSet);
+        accessor.bclib_setFlowerFeatures(flowerFeatures);
+    }
+
+    private static void applySpawns(Biome biome, Map<MobCategory, List<SpawnerData>> added) {
+        MobSpawnSettingsAccessor accessor = (MobSpawnSettingsAccessor) biome.getMobSettings();
+        Map<MobCategory, WeightedRandomList<SpawnerData>> spawners = CollectionsUtil.getMutable(accessor.bcl_getSpawners());
+        for (Map.Entry<MobCategory, List<SpawnerData>> entry : added.entrySet()) {
+            final WeightedRandomList<SpawnerData> existing = spawners.get(entry.getKey());
+            final List<SpawnerData> mobs = existing == null
+                    ? new ArrayList<>()
+                    : new ArrayList<>(existing.unwrap());
+            mobs.addAll(entry.getValue());
+            spawners.put(entry.getKey(), WeightedRandomList.create(mobs));
+        }
+        accessor.bcl_setSpawners(spawners);
+    }
+}
@@ -0,0 +1,119 @@
+package org.betterx.bclib.api.v2.levelgen.biomes;
+
+import org.betterx.bclib.interfaces.BiomeLookupHolder;
+import org.betterx.bclib.interfaces.SurfaceMaterialProvider;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Maps a {@link Biome} to its {@link BCLBiome} without a registry lookup.
+ * <p>
+ * The result is stored in the {@link Biome} instance itself (see {@link BiomeLookupHolder}), together with the
+ * generation of the table it belongs to. The table is filled for all biomes of the world whenever the registries
+ * are ready and is invalidated (by increasing the generation) when BCL biomes are registered, so stale entries are
+ * never returned.
+ */
+@ApiStatus.Internal
+public class BiomeLookup {
+    /**
+     * The cached values of a single {@link Biome}
+     *
+     * @param generation    The generation of the table this entry was created for
+     * @param biome         The {@link BCLBiome} of the biome
+     * @param topMaterial   The top material, if the biome is a {@link SurfaceMaterialProvider}
+     * @param underMaterial The under material, if the biome is a {@link SurfaceMaterialProvider}
+     */
+    public record Entry(
+            int generation,
+            BCLBiome biome,
+            Optional<BlockState> topMaterial,
+            Optional<BlockState> underMaterial
+    ) {
+        static Entry create(int generation, BCLBiome biome) {
+            if (biome instanceof SurfaceMaterialProvider smp) {
+                return new Entry(
+                        generation,
+                        biome,
+                        Optional.of(smp.getTopMaterial()),
+                        Optional.of(smp.getUnderMaterial())
+                );
+            }
+            return new Entry(generation, biome, Optional.empty(), Optional.empty());
+        }
+    }
+
+    private static final AtomicInteger GENERATION = new AtomicInteger(0);
+
+    /**
+     * Fills the table for all biomes of a registry.
+     *
+     * @param access        The registries of the world
+     * @param biomeRegistry The biome registry of the world
+     */
+    static void rebuild(RegistryAccess access, @Nullable Registry<Biome> biomeRegistry) {
+        final int generation = GENERATION.incrementAndGet();
+        if (biomeRegistry == null) return;
+        biomeRegistry.entrySet().forEach(e -> ((BiomeLookupHolder) (Object) e.getValue()).bcl_setLookupEntry(
+                Entry.create(generation, BCLBiomeRegistry.getOrElseEmpty(access, e.getKey().location()))
+        ));
+    }
+
+    /**
+     * Drops all entries. They are recreated on first access.
+     */
+    static void invalidate() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Returns the cached values of a biome, resolving them through the registries if needed.
+     *
+     * @param biome The biome
+     * @return The values of the biome
+     */
+    public static Entry get(Biome biome) {
+        final Entry entry = getCached(biome);
+        if (entry != null) return entry;
+
+        final Entry created = Entry.create(GENERATION.get(), BiomeAPI.getBiome(BiomeAPI.getBiomeID(biome)));
+        //only biomes of the current world are cached, see get(Holder)
+        final Registry<Biome> biomeRegistry = InternalBiomeAPI.biomeRegistry;
+        if (biomeRegistry != null && biomeRegistry.getKey(biome) != null) {
+            ((BiomeLookupHolder) (Object) biome).bcl_setLookupEntry(created);
+        }
+        return created;
+    }
+
+    /**
+     * Returns the cached values of a biome.
+     * <p>
+     * Only biomes of the current world are stored in the table. Holders of other registries (like the one of
+     * the client) are resolved by their key, as before.
+     *
+     * @param biome The biome
+     * @return The values of the biome
+     */
+    public static Entry get(Holder<Biome> biome) {
+        if (biome.isBound()) {
+            final Entry entry = getCached(biome.value());
+            if (entry != null) return entry;
+        }
+        return Entry.create(GENERATION.get(), BiomeAPI.getBiome(BiomeAPI.getBiomeID(biome)));
+    }
+
+    @Nullable
+    private static Entry getCached(Biome biome) {
+        final Entry entry = ((BiomeLookupHolder) (Object) biome).bcl_getLookupEntry();
+        if (entry != null && entry.generation == GENERATION.get()) return entry;
+        return null;
+    }
+}
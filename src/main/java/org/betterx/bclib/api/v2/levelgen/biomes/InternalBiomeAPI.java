@@ -113,6 +113,8 @@ public class InternalBiomeAPI {
                     }
                 });
             }
+            //the BCL biomes are part of the registry access, so the lookup changes even if the biomes did not
+            BiomeLookup.rebuild(access, biomeRegistry);
         }
     }
 
@@ -161,6 +163,10 @@ public class InternalBiomeAPI {
      * For internal use only
      */
     public static void _runBiomeTagAdders() {
+        BiomeChangeSet.run(InternalBiomeAPI::runBiomeTagAdders);
+    }
+
+    private static void runBiomeTagAdders() {
         for (var mod : TAG_ADDERS.entrySet()) {
             Stream<ResourceLocation> s = null;
             if (mod.getKey() == Level.NETHER)
@@ -187,11 +193,14 @@ public class InternalBiomeAPI {
 
         final Set<Holder<Biome>> biomes = source.possibleBiomes();
         List<BiConsumer<ResourceLocation, Holder<Biome>>> modifications = MODIFICATIONS.get(dimension);
-        for (Holder<Biome> biomeHolder : biomes) {
-            if (biomeHolder.isBound()) {
-                applyModificationsAndUpdateFeatures(modifications, biomeHolder);
+        //all features and spawns of the dimension are written in one pass once every modification ran
+        BiomeChangeSet.run(() -> {
+            for (Holder<Biome> biomeHolder : biomes) {
+                if (biomeHolder.isBound()) {
+                    applyModificationsAndUpdateFeatures(modifications, biomeHolder);
+                }
             }
-        }
+        });
     }
 
     private static void applyModificationsAndUpdateFeatures(
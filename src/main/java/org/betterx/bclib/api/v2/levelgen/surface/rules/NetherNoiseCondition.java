@@ -5,6 +5,7 @@ import org.betterx.bclib.mixin.common.SurfaceRulesContextAccessor;
 import org.betterx.bclib.util.MHelper;
 
 import com.mojang.serialization.Codec;
+import net.minecraft.util.RandomSource;
 
 public class NetherNoiseCondition implements NumericProvider {
     public static final Codec<NetherNoiseCondition> CODEC = Codec.BYTE.fieldOf("nether_noise")
@@ -35,12 +36,13 @@ public class NetherNoiseCondition implements NumericProvider {
                 z * Conditions.NETHER_VOLUME_NOISE.scaleZ
         );
 
-        int offset = Conditions.NETHER_VOLUME_NOISE.noiseContext.random.nextInt(20) == 0 ? 3 : 0;
+        final RandomSource random = Conditions.NETHER_VOLUME_NOISE.noiseContext.randomAt(x, y, z);
+        int offset = random.nextInt(20) == 0 ? 3 : 0;
 
-        float cmp = MHelper.randRange(0.4F, 0.5F, Conditions.NETHER_VOLUME_NOISE.noiseContext.random);
+        float cmp = MHelper.randRange(0.4F, 0.5F, random);
         if (value > cmp || value < -cmp) return 2 + offset;
 
-        if (value > Conditions.NETHER_VOLUME_NOISE.range.sample(Conditions.NETHER_VOLUME_NOISE.noiseContext.random))
+        if (value > Conditions.NETHER_VOLUME_NOISE.range.sample(random))
             return 0 + offset;
 
         return 1 + offset;
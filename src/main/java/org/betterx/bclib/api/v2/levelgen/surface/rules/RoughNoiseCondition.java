@@ -1,6 +1,7 @@
 package org.betterx.bclib.api.v2.levelgen.surface.rules;
 
 
+import org.betterx.bclib.config.Configs;
 import org.betterx.bclib.mixin.common.SurfaceRulesContextAccessor;
 import org.betterx.bclib.noise.Noises;
 
@@ -12,6 +13,7 @@ import net.minecraft.util.KeyDispatchDataCodec;
 import net.minecraft.util.RandomSource;
 import net.minecraft.util.valueproviders.FloatProvider;
 import net.minecraft.util.valueproviders.UniformFloat;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.levelgen.SurfaceRules;
 import net.minecraft.world.level.levelgen.synth.NormalNoise;
 
@@ -89,11 +91,38 @@ public class RoughNoiseCondition implements SurfaceRules.ConditionSource {
                                                 .getOrCreateRandomFactory(Noises.ROUGHNESS_NOISE.location())
                                                 .fromHashOf(Noises.ROUGHNESS_NOISE.location());
 
+        final boolean usePlane = Configs.GENERATOR_CONFIG.precomputeSurfaceNoise();
+
         class NoiseThresholdCondition extends SurfaceRules.LazyCondition {
+            //noise values for all columns of the chunk, computed on first use
+            private double[] plane;
+            private int minX;
+            private int minZ;
+
             NoiseThresholdCondition() {
                 super(context2);
             }
 
+            private double getNoise() {
+                if (!usePlane) {
+                    return normalNoise.getValue(ctx.getBlockX(), ctx.getBlockZ(), ctx.getBlockZ());
+                }
+
+                if (plane == null) {
+                    final ChunkPos pos = ctx.getChunk().getPos();
+                    minX = pos.getMinBlockX();
+                    minZ = pos.getMinBlockZ();
+                    plane = new double[16 * 16];
+                    int i = 0;
+                    for (int z = minZ; z < minZ + 16; z++) {
+                        for (int x = minX; x < minX + 16; x++) {
+                            plane[i++] = normalNoise.getValue(x, z, z);
+                        }
+                    }
+                }
+                return plane[(ctx.getBlockZ() - minZ) * 16 + (ctx.getBlockX() - minX)];
+            }
+
             @Override
             protected long getContextLastUpdate() {
                 final SurfaceRulesContextAccessor ctx = SurfaceRulesContextAccessor.class.cast(this.context);
@@ -101,12 +130,7 @@ public class RoughNoiseCondition implements SurfaceRules.ConditionSource {
             }
 
             protected boolean compute() {
-                double d = normalNoise
-                        .getValue(
-                                ctx.getBlockX(),
-                                ctx.getBlockZ(),
-                                ctx.getBlockZ()
-                        ) + roughness.sample(roughnessSource);
+                double d = getNoise() + roughness.sample(roughnessSource);
                 return d >= minThreshold && d <= maxThreshold;
             }
         }
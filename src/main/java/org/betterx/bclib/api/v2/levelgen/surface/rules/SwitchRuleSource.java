@@ -35,17 +35,54 @@ public record SwitchRuleSource(NumericProvider selector, List<RuleSource> collec
 
     @Override
     public SurfaceRule apply(Context context) {
+        //instantiate the children once for this context, instead of once per block
+        final SurfaceRule[] rules = new SurfaceRule[collection.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = collection.get(i).apply(context);
+        }
 
-        return new SurfaceRule() {
-            @Nullable
-            @Override
-            public BlockState tryApply(int x, int y, int z) {
-                final SurfaceRulesContextAccessor ctx = SurfaceRulesContextAccessor.class.cast(context);
-                int nr = Math.max(0, selector.getNumber(ctx)) % collection.size();
+        return new SwitchRule(
+                SurfaceRulesContextAccessor.class.cast(context),
+                selector,
+                rules,
+                selector.isColumnConstant()
+        );
+    }
+
+    private static class SwitchRule implements SurfaceRule {
+        private final SurfaceRulesContextAccessor context;
+        private final NumericProvider selector;
+        private final SurfaceRule[] rules;
+        private final boolean cacheColumn;
+        private long lastUpdateXZ = Long.MIN_VALUE;
+        private int lastNr;
+
+        SwitchRule(SurfaceRulesContextAccessor context, NumericProvider selector, SurfaceRule[] rules, boolean cacheColumn) {
+            this.context = context;
+            this.selector = selector;
+            this.rules = rules;
+            this.cacheColumn = cacheColumn;
+        }
+
+        @Nullable
+        @Override
+        public BlockState tryApply(int x, int y, int z) {
+            return rules[selectIndex()].tryApply(x, y, z);
+        }
+
+        private int selectIndex() {
+            if (!cacheColumn) {
+                return Math.max(0, selector.getNumber(context)) % rules.length;
+            }
 
-                return collection.get(nr).apply(context).tryApply(x, y, z);
+            //same as LazyXZCondition: only evaluate once per column
+            final long updateXZ = context.getLastUpdateXZ();
+            if (updateXZ != lastUpdateXZ) {
+                lastUpdateXZ = updateXZ;
+                lastNr = Math.max(0, selector.getNumber(context)) % rules.length;
             }
-        };
+            return lastNr;
+        }
     }
 
     static {
@@ -1,23 +1,26 @@
 package org.betterx.bclib.api.v2.levelgen.surface.rules;
 
+import org.betterx.bclib.config.Configs;
 import org.betterx.bclib.mixin.common.SurfaceRulesContextAccessor;
 import org.betterx.bclib.noise.OpenSimplexNoise;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.core.SectionPos;
 import net.minecraft.util.KeyDispatchDataCodec;
+import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
 import net.minecraft.util.valueproviders.ConstantFloat;
 import net.minecraft.util.valueproviders.FloatProvider;
+import net.minecraft.world.level.levelgen.LegacyRandomSource;
 import net.minecraft.world.level.levelgen.SurfaceRules;
-import net.minecraft.world.level.levelgen.ThreadSafeLegacyRandomSource;
-
-import com.google.common.collect.Maps;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ThresholdCondition extends SurfaceNoiseCondition {
-    private static final Map<Long, Context> NOISES = Maps.newHashMap();
+    private static final Map<Long, Context> NOISES = new ConcurrentHashMap<>();
+    private static final boolean PRECOMPUTE_PLANES = Configs.GENERATOR_CONFIG.precomputeSurfaceNoise();
     public static final Codec<ThresholdCondition> CODEC = RecordCodecBuilder.create(instance -> instance
             .group(
                     Codec.LONG.fieldOf("seed").forGetter(p -> p.noiseContext.seed),
@@ -45,16 +48,13 @@ public class ThresholdCondition extends SurfaceNoiseCondition {
 
     @Override
     public boolean test(SurfaceRulesContextAccessor context) {
-        final double x = context.getBlockX() * scaleX;
-        final double z = context.getBlockZ() * scaleZ;
-        if (noiseContext.lastX == x && noiseContext.lastZ == z)
-            return noiseContext.lastValue + range.sample(noiseContext.random) > threshold;
-        double value = noiseContext.noise.eval(x, z);
-
-        noiseContext.lastX = x;
-        noiseContext.lastZ = z;
-        noiseContext.lastValue = value;
-        return value + range.sample(noiseContext.random) > threshold;
+        final int blockX = context.getBlockX();
+        final int blockZ = context.getBlockZ();
+        final Memo memo = noiseContext.memo.get();
+        final double value = PRECOMPUTE_PLANES
+                ? memo.getPlaneValue(noiseContext.noise, blockX, blockZ, scaleX, scaleZ)
+                : memo.getValue(noiseContext.noise, blockX * scaleX, blockZ * scaleZ);
+        return value + range.sample(memo.randomAt(noiseContext.seed * 2, blockX, 0, blockZ)) > threshold;
     }
 
     @Override
@@ -62,19 +62,106 @@ public class ThresholdCondition extends SurfaceNoiseCondition {
         return KEY_CODEC;
     }
 
+    /**
+     * The last evaluated noise value of a worldgen thread. Conditions with the same seed often test the same
+     * column one after another, so this saves the second evaluation.
+     */
+    static class Memo {
+        private static final int PLANE_CACHE_SIZE = 4;
+        private final RandomSource random = new LegacyRandomSource(0);
+        private final NoisePlane[] planes = new NoisePlane[PLANE_CACHE_SIZE];
+        private int nextPlane = 0;
+        private double lastX = Integer.MIN_VALUE;
+        private double lastY = Integer.MIN_VALUE;
+        private double lastZ = Integer.MIN_VALUE;
+        private double lastValue = 0;
+
+        double getValue(OpenSimplexNoise noise, double x, double z) {
+            if (lastX != x || lastZ != z) {
+                lastX = x;
+                lastZ = z;
+                lastValue = noise.eval(x, z);
+            }
+            return lastValue;
+        }
+
+        double getValue(OpenSimplexNoise noise, double x, double y, double z) {
+            if (lastX != x || lastY != y || lastZ != z) {
+                lastX = x;
+                lastY = y;
+                lastZ = z;
+                lastValue = noise.eval(x, y, z);
+            }
+            return lastValue;
+        }
+
+        double getPlaneValue(OpenSimplexNoise noise, int blockX, int blockZ, double scaleX, double scaleZ) {
+            final int minX = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(blockX));
+            final int minZ = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(blockZ));
+            NoisePlane plane = null;
+            for (NoisePlane p : planes) {
+                if (p != null && p.matches(noise, minX, minZ, scaleX, scaleZ)) {
+                    plane = p;
+                    break;
+                }
+            }
+
+            if (plane == null) {
+                plane = planes[nextPlane];
+                if (plane == null) {
+                    plane = new NoisePlane();
+                    planes[nextPlane] = plane;
+                }
+                nextPlane = (nextPlane + 1) % PLANE_CACHE_SIZE;
+                plane.fill(noise, minX, minZ, scaleX, scaleZ);
+            }
+            return plane.values[(blockZ - minZ) * 16 + (blockX - minX)];
+        }
+
+        /**
+         * Returns a random source that is seeded from the given position, so the outcome does not depend on
+         * the order in which threads generate blocks.
+         */
+        RandomSource randomAt(long seed, int x, int y, int z) {
+            random.setSeed(Mth.getSeed(x, y, z) ^ seed);
+            return random;
+        }
+    }
+
+    /**
+     * The noise values of all 16x16 columns of a chunk
+     */
+    private static class NoisePlane {
+        final double[] values = new double[16 * 16];
+        OpenSimplexNoise noise;
+        int minX;
+        int minZ;
+        double scaleX;
+        double scaleZ;
+
+        boolean matches(OpenSimplexNoise noise, int minX, int minZ, double scaleX, double scaleZ) {
+            return this.noise == noise && this.minX == minX && this.minZ == minZ
+                    && this.scaleX == scaleX && this.scaleZ == scaleZ;
+        }
+
+        void fill(OpenSimplexNoise noise, int minX, int minZ, double scaleX, double scaleZ) {
+            this.noise = noise;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.scaleX = scaleX;
+            this.scaleZ = scaleZ;
+            noise.evalPlane(values, minX, minZ, 16, 16, scaleX, scaleZ);
+        }
+    }
+
     static class Context {
         public final OpenSimplexNoise noise;
-        public final RandomSource random;
         public final long seed;
-
-        public double lastX = Integer.MIN_VALUE;
-        public double lastZ = Integer.MIN_VALUE;
-        public double lastValue = 0;
+        final ThreadLocal<Memo> memo = ThreadLocal.withInitial(Memo::new);
 
         Context(long seed) {
             this.seed = seed;
             this.noise = new OpenSimplexNoise(seed);
-            this.random = new ThreadSafeLegacyRandomSource(seed * 2);
         }
     }
 }
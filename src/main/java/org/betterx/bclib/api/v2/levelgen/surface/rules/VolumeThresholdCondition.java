@@ -10,14 +10,12 @@ import net.minecraft.util.RandomSource;
 import net.minecraft.util.valueproviders.ConstantFloat;
 import net.minecraft.util.valueproviders.FloatProvider;
 import net.minecraft.world.level.levelgen.SurfaceRules;
-import net.minecraft.world.level.levelgen.ThreadSafeLegacyRandomSource;
-
-import com.google.common.collect.Maps;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class VolumeThresholdCondition extends VolumeNoiseCondition {
-    private static final Map<Long, VolumeThresholdCondition.Context> NOISES = Maps.newHashMap();
+    private static final Map<Long, VolumeThresholdCondition.Context> NOISES = new ConcurrentHashMap<>();
     public static final Codec<VolumeThresholdCondition> CODEC = RecordCodecBuilder.create(instance -> instance
             .group(
                     Codec.LONG.fieldOf("seed").forGetter(p -> p.noiseContext.seed),
@@ -58,23 +56,9 @@ public class VolumeThresholdCondition extends VolumeNoiseCondition {
     }
 
     public double getValue(int xx, int yy, int zz) {
-        final double x = xx * scaleX;
-        final double y = yy * scaleY;
-        final double z = zz * scaleZ;
-
-        if (noiseContext.lastX == x
-                && noiseContext.lastY == y
-                && noiseContext.lastZ == z)
-            return noiseContext.lastValue + range.sample(noiseContext.random);
-
-        double value = noiseContext.noise.eval(x, y, z);
-
-        noiseContext.lastX = x;
-        noiseContext.lastZ = z;
-        noiseContext.lastY = y;
-        noiseContext.lastValue = value;
-
-        return value + range.sample(noiseContext.random);
+        final ThresholdCondition.Memo memo = noiseContext.memo.get();
+        final double value = memo.getValue(noiseContext.noise, xx * scaleX, yy * scaleY, zz * scaleZ);
+        return value + range.sample(noiseContext.randomAt(memo, xx, yy, zz));
     }
 
     @Override
@@ -89,18 +73,25 @@ public class VolumeThresholdCondition extends VolumeNoiseCondition {
 
     public static class Context {
         public final OpenSimplexNoise noise;
-        public final RandomSource random;
         public final long seed;
-
-        double lastX = Integer.MIN_VALUE;
-        double lastY = Integer.MIN_VALUE;
-        double lastZ = Integer.MIN_VALUE;
-        double lastValue = 0;
+        final ThreadLocal<ThresholdCondition.Memo> memo = ThreadLocal.withInitial(ThresholdCondition.Memo::new);
 
         Context(long seed) {
             this.seed = seed;
             this.noise = new OpenSimplexNoise(seed);
-            this.random = new ThreadSafeLegacyRandomSource(seed * 3 + 1);
+        }
+
+        RandomSource randomAt(ThresholdCondition.Memo memo, int x, int y, int z) {
+            return memo.randomAt(seed * 3 + 1, x, y, z);
+        }
+
+        /**
+         * Returns a random source for the current thread that is seeded from the given position.
+         *
+         * @return A random source that must not be passed to other threads
+         */
+        public RandomSource randomAt(int x, int y, int z) {
+            return randomAt(memo.get(), x, y, z);
         }
     }
 }
@@ -71,6 +71,7 @@ public class BCLPlacedFeatureBuilder<F extends Feature<FC>, FC extends FeatureCo
                 cFeature.configuredFeature,
                 modifications
         );
+        FeatureProfiler.track(featureID);
         return p;
     }
 
@@ -0,0 +1,191 @@
+package org.betterx.bclib.api.v3.levelgen.features;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+import net.minecraft.world.level.levelgen.placement.PlacementContext;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Opt-in profiler for the placed features that were registered through {@link BCLPlacedFeatureBuilder}.
+ * <p>
+ * While enabled, every placement of a tracked feature records how many positions the placement modifiers
+ * generated, how often the feature was placed successfully, the time spent in the modifiers and the feature
+ * and the number of blocks the feature wrote. All counters are {@link LongAdder}s, so worldgen threads never
+ * block each other. The values are shown by the {@code /bclib print feature_profile} command.
+ */
+public class FeatureProfiler {
+    /**
+     * The accumulated values of a single placed feature
+     *
+     * @param feature     The ID of the placed feature
+     * @param calls       How often the placed feature was run
+     * @param positions   The number of positions the placement modifiers generated
+     * @param successes   How often the feature was placed successfully
+     * @param totalNanos  The total time spent in the placed feature (modifiers and feature)
+     * @param placeNanos  The time spent in {@link net.minecraft.world.level.levelgen.feature.Feature#place}
+     * @param blocks      The number of blocks the feature wrote
+     */
+    public record Stats(
+            ResourceLocation feature,
+            long calls,
+            long positions,
+            long successes,
+            long totalNanos,
+            long placeNanos,
+            long blocks
+    ) {
+        public double successRate() {
+            return positions == 0 ? 0 : successes / (double) positions;
+        }
+
+        public long modifierNanos() {
+            return totalNanos - placeNanos;
+        }
+    }
+
+    /**
+     * The counters of a single placed feature. Returned by {@link #entryFor(PlacementContext, PlacedFeature)}.
+     */
+    public static class Entry {
+        private final ResourceLocation feature;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder positions = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder placeNanos = new LongAdder();
+        private final LongAdder blocks = new LongAdder();
+
+        private Entry(ResourceLocation feature) {
+            this.feature = feature;
+        }
+
+        /**
+         * Called once per run of the placed feature.
+         *
+         * @param startNanos The time the run started
+         */
+        public void recordCall(long startNanos) {
+            calls.increment();
+            totalNanos.add(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Starts a call to the feature. Blocks that are written until {@link #endPlace} is called are counted
+         * for this feature.
+         *
+         * @return The previously active entry of this thread, that must be passed to {@link #endPlace}
+         */
+        @Nullable
+        public Entry beginPlace() {
+            final Entry previous = CURRENT.get();
+            CURRENT.set(this);
+            return previous;
+        }
+
+        /**
+         * Finishes a call to the feature that was started with {@link #beginPlace()}.
+         *
+         * @param previous   The value returned by {@link #beginPlace()}
+         * @param startNanos The time the call started
+         * @param success    {@code true} if the feature was placed
+         */
+        public void endPlace(@Nullable Entry previous, long startNanos, boolean success) {
+            placeNanos.add(System.nanoTime() - startNanos);
+            positions.increment();
+            if (success) successes.increment();
+            CURRENT.set(previous);
+        }
+
+        Stats snapshot() {
+            return new Stats(
+                    feature,
+                    calls.sum(),
+                    positions.sum(),
+                    successes.sum(),
+                    totalNanos.sum(),
+                    placeNanos.sum(),
+                    blocks.sum()
+            );
+        }
+    }
+
+    private static final Set<ResourceLocation> TRACKED = ConcurrentHashMap.newKeySet();
+    private static final Map<ResourceLocation, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Entry> CURRENT = new ThreadLocal<>();
+    private static volatile boolean enabled = false;
+
+    /**
+     * Adds a placed feature to the set of profiled features.
+     *
+     * @param id The ID of the placed feature
+     */
+    static void track(ResourceLocation id) {
+        TRACKED.add(id);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops profiling. Already collected values are kept.
+     *
+     * @param enabled {@code true} to start profiling
+     */
+    public static void setEnabled(boolean enabled) {
+        FeatureProfiler.enabled = enabled;
+    }
+
+    /**
+     * Returns the counters for a placed feature.
+     *
+     * @param ctx    The context the feature is placed in
+     * @param placed The placed feature
+     * @return The counters, or {@code null} if profiling is disabled or the feature is not tracked
+     */
+    @Nullable
+    public static Entry entryFor(PlacementContext ctx, PlacedFeature placed) {
+        if (!enabled) return null;
+        final ResourceLocation id = ctx.getLevel()
+                                       .registryAccess()
+                                       .registryOrThrow(Registry.PLACED_FEATURE_REGISTRY)
+                                       .getKey(placed);
+        if (id == null || !TRACKED.contains(id)) return null;
+        return ENTRIES.computeIfAbsent(id, Entry::new);
+    }
+
+    /**
+     * Counts a block written by the feature that is currently placed on this thread.
+     */
+    public static void countBlock() {
+        if (!enabled) return;
+        final Entry entry = CURRENT.get();
+        if (entry != null) entry.blocks.increment();
+    }
+
+    /**
+     * Creates a copy of the current values, sorted by the total time (longest first).
+     *
+     * @return The values of all profiled features
+     */
+    public static List<Stats> snapshot() {
+        final List<Stats> result = new ArrayList<>(ENTRIES.size());
+        for (Entry entry : ENTRIES.values()) {
+            result.add(entry.snapshot());
+        }
+        result.sort(Comparator.comparingLong(Stats::totalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Clears all collected values.
+     */
+    public static void reset() {
+        ENTRIES.clear();
+    }
+}
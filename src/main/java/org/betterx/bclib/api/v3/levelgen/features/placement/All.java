@@ -7,10 +7,9 @@ import net.minecraft.world.level.levelgen.placement.PlacementContext;
 import net.minecraft.world.level.levelgen.placement.PlacementModifier;
 import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class All extends PlacementModifier {
+public class All extends PlacementModifier implements PlacementPipeline.Emitter {
     private static final All INSTANCE = new All();
     public static final Codec<All> CODEC = Codec.unit(All::new);
 
@@ -20,7 +19,20 @@ public class All extends PlacementModifier {
             RandomSource randomSource,
             BlockPos blockPos
     ) {
-        return IntStream.range(0, 16 * 16 - 1).mapToObj(i -> blockPos.offset(i & 0xF, 0, i >> 4));
+        return PlacementPipeline.toStream(this, placementContext, randomSource, blockPos);
+    }
+
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        for (int i = 0; i < 16 * 16 - 1; i++) {
+            consumer.accept(scratch.setWithOffset(origin, i & 0xF, 0, i >> 4));
+        }
     }
 
     public static PlacementModifier simple() {
@@ -9,7 +9,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 
 import java.util.stream.Stream;
 
-public class Debug extends PlacementModifier {
+public class Debug extends PlacementModifier implements PlacementPipeline.Emitter {
     public static final Debug INSTANCE = new Debug();
     public static final Codec<Debug> CODEC = Codec.unit(Debug::new);
 
@@ -22,6 +22,17 @@ public class Debug extends PlacementModifier {
         return Stream.of(blockPos);
     }
 
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        consumer.accept(origin);
+    }
+
     @Override
     public PlacementModifierType<?> type() {
         return PlacementModifiers.DEBUG;
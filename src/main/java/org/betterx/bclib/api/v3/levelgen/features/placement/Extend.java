@@ -13,7 +13,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 
 import java.util.stream.Stream;
 
-public class Extend extends PlacementModifier {
+public class Extend extends PlacementModifier implements PlacementPipeline.Emitter {
     public static final Codec<Extend> CODEC = RecordCodecBuilder.create((instance) -> instance
             .group(
                     Direction.CODEC
@@ -38,16 +38,25 @@ public class Extend extends PlacementModifier {
     @Override
     public Stream<BlockPos> getPositions(
             PlacementContext placementContext,
-            RandomSource random,
+            RandomSource randomSource,
             BlockPos blockPos
     ) {
-        var builder = Stream.<BlockPos>builder();
+        return PlacementPipeline.toStream(this, placementContext, randomSource, blockPos);
+    }
+
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
         final int count = length.sample(random);
-        builder.add(blockPos);
+        consumer.accept(origin);
         for (int y = 1; y < count + 1; y++) {
-            builder.add(blockPos.relative(direction, y));
+            consumer.accept(scratch.set(origin).move(direction, y));
         }
-        return builder.build();
     }
 
     @Override
@@ -18,7 +18,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 import java.util.List;
 import java.util.stream.Stream;
 
-public class FindSolidInDirection extends PlacementModifier {
+public class FindSolidInDirection extends PlacementModifier implements PlacementPipeline.Emitter {
 
     public static final Codec<FindSolidInDirection> CODEC = RecordCodecBuilder
             .create((instance) -> instance.group(
@@ -103,26 +103,35 @@ public class FindSolidInDirection extends PlacementModifier {
             RandomSource randomSource,
             BlockPos blockPos
     ) {
-        var builder = Stream.<BlockPos>builder();
+        return PlacementPipeline.toStream(this, placementContext, randomSource, blockPos);
+    }
+
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
         if (randomSelect) {
-            submitSingle(placementContext, blockPos, builder, randomDirection(randomSource));
+            submitSingle(ctx, origin, scratch, consumer, randomDirection(random));
         } else {
             for (Direction d : direction) {
-                submitSingle(placementContext, blockPos, builder, d);
+                submitSingle(ctx, origin, scratch, consumer, d);
             }
         }
-
-        return builder.build();
     }
 
     private void submitSingle(
             PlacementContext placementContext,
             BlockPos blockPos,
-            Stream.Builder<BlockPos> builder,
+            BlockPos.MutableBlockPos POS,
+            PlacementPipeline.PositionConsumer consumer,
             Direction d
     ) {
         int searchDist;
-        BlockPos.MutableBlockPos POS = blockPos.mutable();
+        POS.set(blockPos);
         if (d == Direction.EAST) { //+x
             searchDist = Math.min(maxSearchDistance, 15 - SectionPos.sectionRelative(blockPos.getX()));
         } else if (d == Direction.WEST) { //-x
@@ -142,12 +151,18 @@ public class FindSolidInDirection extends PlacementModifier {
                 BlocksHelper::isTerrain
         )) {
             if (offsetInDir != 0)
-                builder.add(POS.move(d, offsetInDir));
+                consumer.accept(POS.move(d, offsetInDir));
             else
-                builder.add(POS);
+                consumer.accept(POS);
         }
     }
 
+    @Override
+    public boolean collectsPositions() {
+        //every direction is scanned in the world
+        return !randomSelect && direction.size() > 1;
+    }
+
     @Override
     public PlacementModifierType<?> type() {
         return PlacementModifiers.SOLID_IN_DIR;
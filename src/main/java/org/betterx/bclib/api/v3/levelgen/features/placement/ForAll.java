@@ -12,7 +12,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 import java.util.List;
 import java.util.stream.Stream;
 
-public class ForAll extends PlacementModifier {
+public class ForAll extends PlacementModifier implements PlacementPipeline.Emitter {
     public static final Codec<ForAll> CODEC = RecordCodecBuilder.create(instance -> instance
             .group(
                     ExtraCodecs.nonEmptyList(PlacementModifier.CODEC.listOf())
@@ -33,11 +33,30 @@ public class ForAll extends PlacementModifier {
             RandomSource randomSource,
             BlockPos blockPos
     ) {
-        Stream.Builder<BlockPos> stream = Stream.builder();
+        return PlacementPipeline.toStream(this, placementContext, randomSource, blockPos);
+    }
+
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
         for (PlacementModifier p : modifiers) {
-            p.getPositions(placementContext, randomSource, blockPos).forEach(pp -> stream.add(pp));
+            if (p instanceof PlacementPipeline.Emitter emitter) {
+                emitter.emitPositions(ctx, random, origin, scratch, consumer);
+            } else {
+                p.getPositions(ctx, random, origin.immutable()).forEach(consumer::accept);
+            }
         }
-        return stream.build();
+    }
+
+    @Override
+    public boolean collectsPositions() {
+        //the children may read the world or the random source
+        return true;
     }
 
     @Override
@@ -14,7 +14,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 
 import java.util.Optional;
 
-public class Is extends PlacementFilter {
+public class Is extends PlacementFilter implements PlacementPipeline.Emitter {
     public static final Codec<Is> CODEC = RecordCodecBuilder.create((instance) -> instance
             .group(
                     BlockPredicate.CODEC
@@ -52,6 +52,19 @@ public class Is extends PlacementFilter {
         return predicate.test(level, offset.map(v -> pos.offset(v.getX(), v.getY(), v.getZ())).orElse(pos));
     }
 
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        if (shouldPlace(ctx, random, origin)) {
+            consumer.accept(origin);
+        }
+    }
+
     @Override
     public PlacementModifierType<Is> type() {
         return PlacementModifiers.IS;
@@ -12,7 +12,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 
 import java.util.Optional;
 
-public class IsBasin extends PlacementFilter {
+public class IsBasin extends PlacementFilter implements PlacementPipeline.Emitter {
     public static final Codec<IsBasin> CODEC = RecordCodecBuilder.create((instance) -> instance
             .group(
                     BlockPredicate.CODEC
@@ -57,6 +57,19 @@ public class IsBasin extends PlacementFilter {
                 && predicate.test(level, pos.south());
     }
 
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        if (shouldPlace(ctx, random, origin)) {
+            consumer.accept(origin);
+        }
+    }
+
     @Override
     public PlacementModifierType<?> type() {
         return PlacementModifiers.IS_BASIN;
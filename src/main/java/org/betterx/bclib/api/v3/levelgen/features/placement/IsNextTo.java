@@ -14,7 +14,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 
-public class IsNextTo extends PlacementFilter {
+public class IsNextTo extends PlacementFilter implements PlacementPipeline.Emitter {
     public static final Codec<IsNextTo> CODEC = RecordCodecBuilder.create((instance) -> instance
             .group(
                     BlockPredicate.CODEC
@@ -57,6 +57,19 @@ public class IsNextTo extends PlacementFilter {
                 || predicate.test(level, pos.south());
     }
 
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        if (shouldPlace(ctx, random, origin)) {
+            consumer.accept(origin);
+        }
+    }
+
     @Override
     public PlacementModifierType<?> type() {
         return PlacementModifiers.IS_NEXT_TO;
@@ -0,0 +1,122 @@
+package org.betterx.bclib.api.v3.levelgen.features.placement;
+
+import org.betterx.bclib.util.BlocksHelper;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.placement.PlacementContext;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Caches the floor and ceiling layers of the columns in a {@link net.minecraft.server.level.WorldGenRegion}.
+ * <p>
+ * A floor is the lowest free (or fluid) block above a terrain block (see {@link OnEveryLayer}), a ceiling is
+ * the highest free (or fluid) block below a terrain block (see {@link UnderEveryLayer}). Each column is scanned
+ * once and shared by all placement modifiers that run while the chunk is decorated. The region drops a column
+ * whenever a block in it changes, so the next query scans it again.
+ */
+public class LayerIndex {
+    private static class Column {
+        final int top;
+        final int bottom;
+        //both arrays are sorted from top to bottom
+        final int[] floors;
+        final int[] ceilings;
+
+        Column(int top, int bottom, int[] floors, int[] ceilings) {
+            this.top = top;
+            this.bottom = bottom;
+            this.floors = floors;
+            this.ceilings = ceilings;
+        }
+    }
+
+    private final Long2ObjectOpenHashMap<Column> columns = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Visits all floor layers of a column, from top to bottom.
+     *
+     * @param ctx      The current placement context
+     * @param x        X-Position of the column
+     * @param z        Z-Position of the column
+     * @param minY     The lowest Y-Position that is reported
+     * @param maxY     The highest Y-Position that is reported
+     * @param consumer Receives the Y-Position of each layer
+     */
+    public void forEachFloor(PlacementContext ctx, int x, int z, int minY, int maxY, IntConsumer consumer) {
+        forEach(getColumn(ctx, x, z).floors, minY, maxY, consumer);
+    }
+
+    /**
+     * Visits all ceiling layers of a column, from top to bottom.
+     *
+     * @param ctx      The current placement context
+     * @param x        X-Position of the column
+     * @param z        Z-Position of the column
+     * @param minY     The lowest Y-Position that is reported
+     * @param maxY     The highest Y-Position that is reported
+     * @param consumer Receives the Y-Position of each layer
+     */
+    public void forEachCeiling(PlacementContext ctx, int x, int z, int minY, int maxY, IntConsumer consumer) {
+        forEach(getColumn(ctx, x, z).ceilings, minY, maxY, consumer);
+    }
+
+    /**
+     * Forgets the layers of the column that contains {@code pos}.
+     *
+     * @param pos A position that changed
+     */
+    public void invalidate(BlockPos pos) {
+        if (!columns.isEmpty()) {
+            columns.remove(columnKey(pos.getX(), pos.getZ()));
+        }
+    }
+
+    private static void forEach(int[] layers, int minY, int maxY, IntConsumer consumer) {
+        for (int y : layers) {
+            if (y < minY) break;
+            if (y <= maxY) consumer.accept(y);
+        }
+    }
+
+    private static long columnKey(int x, int z) {
+        return BlockPos.asLong(x, 0, z);
+    }
+
+    private Column getColumn(PlacementContext ctx, int x, int z) {
+        final long key = columnKey(x, z);
+        final int top = ctx.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
+        final int bottom = ctx.getMinBuildHeight();
+        Column column = columns.get(key);
+        if (column == null || column.top != top || column.bottom != bottom) {
+            column = scan(ctx, x, z, top, bottom);
+            columns.put(key, column);
+        }
+        return column;
+    }
+
+    private static Column scan(PlacementContext ctx, int x, int z, int top, int bottom) {
+        final IntArrayList floors = new IntArrayList();
+        final IntArrayList ceilings = new IntArrayList();
+        final BlockPos.MutableBlockPos mPos = new BlockPos.MutableBlockPos(x, top, z);
+
+        BlockState nowState = ctx.getBlockState(mPos);
+        for (int y = top; y >= bottom + 1; --y) {
+            mPos.setY(y - 1);
+            final BlockState belowState = ctx.getBlockState(mPos);
+            if (BlocksHelper.isTerrain(belowState) && BlocksHelper.isFreeOrFluid(nowState) && !belowState.is(Blocks.BEDROCK)) {
+                floors.add(y);
+            } else if (BlocksHelper.isTerrain(nowState) && BlocksHelper.isFreeOrFluid(belowState) && !nowState.is(Blocks.BEDROCK)) {
+                ceilings.add(y - 1);
+            }
+            nowState = belowState;
+        }
+        return new Column(top, bottom, floors.toIntArray(), ceilings.toIntArray());
+    }
+}
@@ -13,7 +13,7 @@ import net.minecraft.world.level.levelgen.placement.PlacementFilter;
 import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 import net.minecraft.world.level.levelgen.synth.NormalNoise;
 
-public class NoiseFilter extends PlacementFilter {
+public class NoiseFilter extends PlacementFilter implements PlacementPipeline.Emitter {
     public static final Codec<NoiseFilter> CODEC = RecordCodecBuilder.create(instance -> instance
             .group(
                     ResourceKey.codec(Registry.NOISE_REGISTRY).fieldOf("noise").forGetter(o -> o.noise),
@@ -31,6 +31,11 @@ public class NoiseFilter extends PlacementFilter {
     private final float scaleXZ;
     private final float scaleY;
 
+    private record Binding(long seed, int generation, NormalNoise noise) {
+    }
+
+    //the noise of the last seen world, replaced (not modified) when the seed or the registries change
+    private volatile Binding binding;
 
     public NoiseFilter(
             ResourceKey<NormalNoise.NoiseParameters> noise,
@@ -46,11 +51,58 @@ public class NoiseFilter extends PlacementFilter {
         this.scaleY = scaleY;
     }
 
+    private NormalNoise getNoise(PlacementContext ctx) {
+        final long seed = ctx.getLevel().getSeed();
+        final int generation = Noises.generation();
+        Binding b = binding;
+        if (b == null || b.seed != seed || b.generation != generation) {
+            b = new Binding(seed, generation, Noises.getOrCreateNoise(ctx.getLevel().registryAccess(), seed, noise));
+            binding = b;
+        }
+        return b.noise;
+    }
+
+    private boolean test(NormalNoise normalNoise, int x, int y, int z) {
+        final double v = normalNoise.getValue(x * scaleXZ, y * scaleY, z * scaleXZ);
+        return v > minNoiseLevel && v < maxNoiseLevel;
+    }
+
     @Override
     protected boolean shouldPlace(PlacementContext ctx, RandomSource random, BlockPos pos) {
-        final NormalNoise normalNoise = Noises.getOrCreateNoise(ctx.getLevel().registryAccess(), random, this.noise);
-        final double v = normalNoise.getValue(pos.getX() * scaleXZ, pos.getY() * scaleY, pos.getZ() * scaleXZ);
-        return v > minNoiseLevel && v < maxNoiseLevel;
+        return test(getNoise(ctx), pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Tests a 16x16 grid of positions in one pass.
+     *
+     * @param ctx    The placement context
+     * @param origin The position of the grid cell at index 0. All tested positions share its Y-Position
+     * @param mask   Only cells that are {@code true} in this mask are tested. The index of the cell at
+     *               {@code origin + (x, 0, z)} is {@code x << 4 | z}
+     * @param result Receives the result for each cell. Cells that are not in the mask are set to {@code false}
+     */
+    public void shouldPlace(PlacementContext ctx, BlockPos origin, boolean[] mask, boolean[] result) {
+        final NormalNoise normalNoise = getNoise(ctx);
+        final int y = origin.getY();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                final int i = x << 4 | z;
+                result[i] = mask[i] && test(normalNoise, origin.getX() + x, y, origin.getZ() + z);
+            }
+        }
+    }
+
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        if (shouldPlace(ctx, random, origin)) {
+            consumer.accept(origin);
+        }
     }
 
     @Override
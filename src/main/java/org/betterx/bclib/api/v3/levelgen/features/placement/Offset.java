@@ -15,7 +15,7 @@ import com.google.common.collect.Maps;
 import java.util.Map;
 import java.util.stream.Stream;
 
-public class Offset extends PlacementModifier {
+public class Offset extends PlacementModifier implements PlacementPipeline.Emitter {
     private static final Map<Direction, Offset> DIRECTIONS = Maps.newHashMap();
     public static final Codec<Offset> CODEC = RecordCodecBuilder.create((instance) -> instance
             .group(
@@ -44,6 +44,17 @@ public class Offset extends PlacementModifier {
         return Stream.of(blockPos.offset(offset));
     }
 
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        consumer.accept(scratch.setWithOffset(origin, offset));
+    }
+
     @Override
     public PlacementModifierType<?> type() {
         return PlacementModifiers.OFFSET;
@@ -0,0 +1,232 @@
+package org.betterx.bclib.api.v3.levelgen.features.placement;
+
+import org.betterx.bclib.api.v3.levelgen.features.FeatureProfiler;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.levelgen.placement.PlacementContext;
+import net.minecraft.world.level.levelgen.placement.PlacementModifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs a chain of placement modifiers without building a {@link Stream} for every step.
+ * <p>
+ * Modifiers that implement {@link Emitter} hand their positions directly to the next modifier. Positions
+ * are passed as (possibly mutable) {@link BlockPos} instances that are only valid for the duration of the
+ * call, so no object is allocated per candidate. Vanilla modifiers are still called through
+ * {@link PlacementModifier#getPositions(PlacementContext, RandomSource, BlockPos)} and receive an immutable
+ * position.
+ * <p>
+ * Emitters that read the world (or the random source) between two of their positions report this through
+ * {@link Emitter#collectsPositions()}. Their positions for one input are collected in a buffer of the run before
+ * any of them is passed on, like the lists their stream based implementation built. This way, a scan never sees
+ * blocks that a feature placed for an earlier position of the same input, and the world and the random source
+ * are accessed in the same order as for the stream based chain in
+ * {@link net.minecraft.world.level.levelgen.placement.PlacedFeature}.
+ */
+public class PlacementPipeline {
+    /**
+     * Receives the positions generated by a modifier.
+     */
+    @FunctionalInterface
+    public interface PositionConsumer {
+        /**
+         * @param pos The generated position. May be mutable and must not be stored.
+         */
+        void accept(BlockPos pos);
+    }
+
+    /**
+     * Implemented by BCL placement modifiers that can emit their positions without building a stream.
+     */
+    public interface Emitter {
+        /**
+         * Generates the positions for {@code origin}.
+         *
+         * @param ctx      The placement context
+         * @param random   The random source of the placement
+         * @param origin   The input position. May be mutable and must not be stored.
+         * @param scratch  A position this modifier may use to pass results to {@code consumer}
+         * @param consumer Receives the generated positions
+         */
+        void emitPositions(
+                PlacementContext ctx,
+                RandomSource random,
+                BlockPos origin,
+                BlockPos.MutableBlockPos scratch,
+                PositionConsumer consumer
+        );
+
+        /**
+         * @return {@code true} if this modifier reads the world or the random source after it emitted a
+         * position. All positions for an input are then collected before they are passed on.
+         */
+        default boolean collectsPositions() {
+            return false;
+        }
+    }
+
+    /**
+     * A growable list of positions (stored as longs) that is reused for all inputs of a modifier.
+     */
+    private static class PositionBuffer {
+        private long[] positions = new long[16];
+        private int size;
+
+        void add(BlockPos pos) {
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = pos.asLong();
+        }
+    }
+
+    /**
+     * Tests if the chain contains at least one {@link Emitter}, which is when running it through
+     * {@link #place} pays off.
+     *
+     * @param modifiers The modifiers of a placed feature
+     * @return {@code true} if any modifier is an {@link Emitter}
+     */
+    public static boolean canRun(List<PlacementModifier> modifiers) {
+        for (PlacementModifier m : modifiers) {
+            if (m instanceof Emitter) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Converts the output of an {@link Emitter} to a stream, for callers outside of BCLib.
+     *
+     * @param emitter The modifier
+     * @param ctx     The placement context
+     * @param random  The random source of the placement
+     * @param origin  The input position
+     * @return The generated positions
+     */
+    public static Stream<BlockPos> toStream(
+            Emitter emitter,
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin
+    ) {
+        final Stream.Builder<BlockPos> builder = Stream.builder();
+        emitter.emitPositions(ctx, random, origin, new BlockPos.MutableBlockPos(), pos -> builder.add(pos.immutable()));
+        return builder.build();
+    }
+
+    /**
+     * Places a feature at all positions generated by a chain of modifiers.
+     *
+     * @param modifiers The modifiers to apply, in order
+     * @param feature   The feature to place
+     * @param ctx       The placement context
+     * @param random    The random source of the placement
+     * @param origin    The start position
+     * @param profile   Receives the timings of this placement, or {@code null} if it is not profiled
+     * @return {@code true} if the feature was placed at least once
+     */
+    public static boolean place(
+            List<PlacementModifier> modifiers,
+            ConfiguredFeature<?, ?> feature,
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            @Nullable FeatureProfiler.Entry profile
+    ) {
+        final long start = profile == null ? 0 : System.nanoTime();
+        final Run run = new Run(modifiers, feature, ctx, random, profile);
+        run.emit(0, origin);
+        if (profile != null) profile.recordCall(start);
+        return run.placed;
+    }
+
+    private static class Run {
+        private final PlacementModifier[] modifiers;
+        private final BlockPos.MutableBlockPos[] scratch;
+        private final ConfiguredFeature<?, ?> feature;
+        private final PlacementContext ctx;
+        private final RandomSource random;
+        @Nullable
+        private final FeatureProfiler.Entry profile;
+        private final boolean[][] filterResults;
+        private final PositionBuffer[] buffers;
+        boolean placed = false;
+
+        Run(
+                List<PlacementModifier> modifiers,
+                ConfiguredFeature<?, ?> feature,
+                PlacementContext ctx,
+                RandomSource random,
+                @Nullable FeatureProfiler.Entry profile
+        ) {
+            this.modifiers = modifiers.toArray(new PlacementModifier[0]);
+            this.scratch = new BlockPos.MutableBlockPos[this.modifiers.length];
+            this.filterResults = new boolean[this.modifiers.length][];
+            this.buffers = new PositionBuffer[this.modifiers.length];
+            this.feature = feature;
+            this.ctx = ctx;
+            this.random = random;
+            this.profile = profile;
+        }
+
+        void emit(int index, BlockPos pos) {
+            if (index == modifiers.length) {
+                if (profile == null) {
+                    if (feature.place(ctx.getLevel(), ctx.generator(), random, pos.immutable())) {
+                        placed = true;
+                    }
+                } else {
+                    final long start = System.nanoTime();
+                    final FeatureProfiler.Entry previous = profile.beginPlace();
+                    boolean success = false;
+                    try {
+                        success = feature.place(ctx.getLevel(), ctx.generator(), random, pos.immutable());
+                    } finally {
+                        profile.endPlace(previous, start, success);
+                    }
+                    if (success) placed = true;
+                }
+                return;
+            }
+
+            final int next = index + 1;
+            final PlacementModifier modifier = modifiers[index];
+            if (modifier instanceof Stencil stencil
+                    && next < modifiers.length
+                    && modifiers[next] instanceof NoiseFilter filter
+                    && stencil.isFullGrid()) {
+                //neither modifier uses the random source, so testing the whole grid first does not change the result
+                if (scratch[index] == null) scratch[index] = new BlockPos.MutableBlockPos();
+                if (filterResults[index] == null) filterResults[index] = new boolean[16 * 16];
+                stencil.emitFiltered(ctx, pos, scratch[index], filter, filterResults[index], p -> emit(next + 1, p));
+            } else if (modifier instanceof Emitter emitter) {
+                if (scratch[index] == null) scratch[index] = new BlockPos.MutableBlockPos();
+                if (emitter.collectsPositions()) {
+                    emitCollected(index, emitter, pos);
+                } else {
+                    emitter.emitPositions(ctx, random, pos, scratch[index], p -> emit(next, p));
+                }
+            } else {
+                modifier.getPositions(ctx, random, pos.immutable()).forEach(p -> emit(next, p));
+            }
+        }
+
+        private void emitCollected(int index, Emitter emitter, BlockPos pos) {
+            if (buffers[index] == null) buffers[index] = new PositionBuffer();
+            final PositionBuffer buffer = buffers[index];
+            final BlockPos.MutableBlockPos scratchPos = scratch[index];
+
+            //later stages never use this buffer, so it stays untouched while we pass the positions on
+            buffer.size = 0;
+            emitter.emitPositions(ctx, random, pos, scratchPos, buffer::add);
+            final int count = buffer.size;
+            for (int i = 0; i < count; i++) {
+                emit(index + 1, scratchPos.set(buffer.positions[i]));
+            }
+        }
+    }
+}
@@ -9,15 +9,15 @@ import net.minecraft.world.level.levelgen.placement.PlacementContext;
 import net.minecraft.world.level.levelgen.placement.PlacementModifier;
 import net.minecraft.world.level.levelgen.placement.PlacementModifierType;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
-public class Stencil extends PlacementModifier {
+public class Stencil extends PlacementModifier implements PlacementPipeline.Emitter {
     public static final Codec<Stencil> CODEC;
     private static final Boolean[] BN_STENCIL;
     private final List<Boolean> stencil;
+    private final boolean[] mask;
     private static final Stencil DEFAULT;
     private static final Stencil DEFAULT4;
     private final int selectOneIn;
@@ -32,6 +32,10 @@ public class Stencil extends PlacementModifier {
 
     public Stencil(List<Boolean> stencil, int selectOneIn) {
         this.stencil = stencil;
+        this.mask = new boolean[stencil.size()];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = stencil.get(i);
+        }
         this.selectOneIn = selectOneIn;
     }
 
@@ -49,16 +53,54 @@ public class Stencil extends PlacementModifier {
             RandomSource randomSource,
             BlockPos blockPos
     ) {
-        List<BlockPos> pos = new ArrayList<>(16 * 16);
+        return PlacementPipeline.toStream(this, placementContext, randomSource, blockPos);
+    }
+
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
         for (int x = 0; x < 16; x++) {
             for (int y = 0; y < 16; y++) {
-                if (stencil.get(x << 4 | y)) {
-                    pos.add(blockPos.offset(x, 0, y));
+                if (mask[x << 4 | y]) {
+                    consumer.accept(scratch.setWithOffset(origin, x, 0, y));
                 }
             }
         }
+    }
+
+    /**
+     * Emits the positions of the stencil that pass {@code filter}, testing all of them in one pass.
+     *
+     * @param ctx      The placement context
+     * @param origin   The input position
+     * @param scratch  A position used to pass results to {@code consumer}
+     * @param filter   The filter that follows this stencil
+     * @param result   Buffer with room for 16x16 entries that receives the filter results
+     * @param consumer Receives the positions that passed the filter
+     */
+    void emitFiltered(
+            PlacementContext ctx,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            NoiseFilter filter,
+            boolean[] result,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        filter.shouldPlace(ctx, origin, mask, result);
+        for (int i = 0; i < 16 * 16; i++) {
+            if (result[i]) {
+                consumer.accept(scratch.setWithOffset(origin, i >> 4, 0, i & 0xF));
+            }
+        }
+    }
 
-        return pos.stream();
+    boolean isFullGrid() {
+        return mask.length >= 16 * 16;
     }
 
     @Override
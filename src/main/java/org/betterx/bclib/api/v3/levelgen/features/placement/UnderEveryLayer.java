@@ -1,5 +1,6 @@
 package org.betterx.bclib.api.v3.levelgen.features.placement;
 
+import org.betterx.bclib.interfaces.LayerIndexProvider;
 import org.betterx.bclib.util.BlocksHelper;
 
 import com.mojang.serialization.Codec;
@@ -17,7 +18,7 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 public class UnderEveryLayer
-        extends PlacementModifier {
+        extends PlacementModifier implements PlacementPipeline.Emitter {
     private static final UnderEveryLayer INSTANCE = new UnderEveryLayer(Optional.empty(), Optional.empty());
     private static final UnderEveryLayer INSTANCE_MIN_4 = new UnderEveryLayer(Optional.of(4), Optional.empty());
     public static final Codec<UnderEveryLayer> CODEC = RecordCodecBuilder.create(instance -> instance
@@ -50,26 +51,45 @@ public class UnderEveryLayer
             RandomSource random,
             BlockPos pos
     ) {
+        return PlacementPipeline.toStream(this, ctx, random, pos);
+    }
 
-        Stream.Builder<BlockPos> builder = Stream.builder();
-
-        final int z = pos.getZ();
-        final int x = pos.getX();
+    @Override
+    public void emitPositions(
+            PlacementContext ctx,
+            RandomSource random,
+            BlockPos origin,
+            BlockPos.MutableBlockPos scratch,
+            PlacementPipeline.PositionConsumer consumer
+    ) {
+        final int z = origin.getZ();
+        final int x = origin.getX();
         final int levelHeight = ctx.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
         final int minLevelHeight = ctx.getMinBuildHeight();
         int y = maxHeight.map(h -> Math.min(levelHeight, h)).orElse(levelHeight);
         final int minHeight = this.minHeight.map(h -> Math.max(minLevelHeight, h)).orElse(minLevelHeight);
 
+        if (ctx.getLevel() instanceof LayerIndexProvider provider) {
+            provider.bcl_getLayerIndex()
+                    .forEachCeiling(ctx, x, z, minHeight, y - 1, layerY -> consumer.accept(scratch.set(x, layerY, z)));
+            return;
+        }
+
         int layerY;
         do {
             layerY = findUnderGroundYPosition(ctx, x, y, z, minHeight);
             if (layerY != Integer.MAX_VALUE) {
-                builder.add(new BlockPos(x, layerY, z));
+                consumer.accept(scratch.set(x, layerY, z));
                 y = layerY - 1;
             }
 
         } while (layerY != Integer.MAX_VALUE);
-        return builder.build();
+    }
+
+    @Override
+    public boolean collectsPositions() {
+        //each layer is looked up in the world (or its layer index) after the previous one was found
+        return true;
     }
 
     @Override
@@ -56,8 +56,28 @@ public class CommandRegistry {
                                       ).then(Commands.literal("updates")
                                                      .requires(source -> source.hasPermission(Commands.LEVEL_OWNERS))
                                                      .executes(ctx -> PrintInfo.printUpdates(ctx, true))
+                                ).then(Commands.literal("sync_metrics")
+                                                     .requires(source -> source.hasPermission(Commands.LEVEL_OWNERS))
+                                                     .executes(ctx -> PrintInfo.printSyncMetrics(ctx))
+                                ).then(Commands.literal("feature_profile")
+                                                     .requires(source -> source.hasPermission(Commands.LEVEL_OWNERS))
+                                                     .executes(ctx -> PrintInfo.printFeatureProfile(ctx))
                                 )
                         )
+                        .then(Commands.literal("reset_sync_metrics")
+                                      .requires(source -> source.hasPermission(Commands.LEVEL_OWNERS))
+                                      .executes(ctx -> PrintInfo.resetSyncMetrics(ctx))
+                        )
+                        .then(Commands.literal("feature_profiler")
+                                      .requires(source -> source.hasPermission(Commands.LEVEL_OWNERS))
+                                      .then(Commands.literal("start")
+                                                    .executes(ctx -> PrintInfo.setFeatureProfiler(ctx, true))
+                                      ).then(Commands.literal("stop")
+                                                     .executes(ctx -> PrintInfo.setFeatureProfiler(ctx, false))
+                                      ).then(Commands.literal("reset")
+                                                     .executes(ctx -> PrintInfo.resetFeatureProfile(ctx))
+                                      )
+                        )
                         .then(Commands.literal("debug_ore")
                                       .requires(source -> source.hasPermission(Commands.LEVEL_OWNERS))
                                       .executes(ctx -> revealOre(ctx))
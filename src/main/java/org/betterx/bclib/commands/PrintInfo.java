@@ -1,9 +1,12 @@
 package org.betterx.bclib.commands;
 
 import org.betterx.bclib.BCLib;
+import org.betterx.bclib.api.v2.dataexchange.SyncMetrics;
+import org.betterx.bclib.api.v3.levelgen.features.FeatureProfiler;
 import org.betterx.bclib.client.gui.screens.UpdatesScreen;
 import org.betterx.bclib.config.Configs;
 import org.betterx.bclib.networking.VersionChecker;
+import org.betterx.worlds.together.util.PathUtil;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.brigadier.Command;
@@ -20,6 +23,8 @@ import net.minecraft.world.level.Level;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.ModContainer;
 
+import java.util.List;
+
 public class PrintInfo {
     static int printDimensions(CommandContext<CommandSourceStack> ctx) {
         MutableComponent result = Component.literal("World Dimensions: ")
@@ -48,6 +53,114 @@ public class PrintInfo {
         return Command.SINGLE_SUCCESS;
     }
 
+    static int printSyncMetrics(CommandContext<CommandSourceStack> ctx) {
+        final SyncMetrics.Snapshot snapshot = SyncMetrics.snapshot();
+        MutableComponent result = Component.literal("Sync Metrics: ")
+                                           .setStyle(Style.EMPTY.withBold(true).withColor(ChatFormatting.BLUE));
+
+        StringBuilder phases = new StringBuilder();
+        for (SyncMetrics.PhaseStats stats : snapshot.phases()) {
+            phases.append("\n - ")
+                  .append(stats.phase().title)
+                  .append(": ")
+                  .append(stats.count())
+                  .append("x, avg ")
+                  .append(String.format("%.2f", stats.averageMillis()))
+                  .append("ms, max ")
+                  .append(String.format("%.2f", stats.maxNanos() / 1_000_000.0))
+                  .append("ms, ")
+                  .append(PathUtil.humanReadableFileSize(stats.bytes()))
+                  .append(" (")
+                  .append(PathUtil.humanReadableFileSize(stats.bytesPerSecond()))
+                  .append("/s)");
+        }
+        phases.append("\n - Queue: ")
+              .append(snapshot.activeTransfers())
+              .append(" Transfers, ")
+              .append(snapshot.queuedChunks())
+              .append(" Chunks");
+        result.append(Component.literal(phases.toString())
+                               .setStyle(Style.EMPTY.withBold(false).withColor(ChatFormatting.WHITE)));
+
+        if (!snapshot.players().isEmpty()) {
+            StringBuilder players = new StringBuilder("\n Players:");
+            for (SyncMetrics.PlayerStats stats : snapshot.players()) {
+                players.append("\n - ")
+                       .append(stats.playerName())
+                       .append(": ")
+                       .append(stats.transfers())
+                       .append(" Messages, ")
+                       .append(PathUtil.humanReadableFileSize(stats.bytes()))
+                       .append(" (")
+                       .append(PathUtil.humanReadableFileSize(stats.bytesPerSecond()))
+                       .append("/s)");
+            }
+            result.append(Component.literal(players.toString())
+                                   .setStyle(Style.EMPTY.withBold(false).withColor(ChatFormatting.LIGHT_PURPLE)));
+        }
+
+        ctx.getSource().sendSuccess(result, false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    static int resetSyncMetrics(CommandContext<CommandSourceStack> ctx) {
+        SyncMetrics.reset();
+        ctx.getSource().sendSuccess(Component.literal("Sync Metrics were reset."), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    static int printFeatureProfile(CommandContext<CommandSourceStack> ctx) {
+        final List<FeatureProfiler.Stats> snapshot = FeatureProfiler.snapshot();
+        MutableComponent result = Component.literal("Feature Profile" + (FeatureProfiler.isEnabled()
+                ? ""
+                : " (stopped)") + ": ")
+                                           .setStyle(Style.EMPTY.withBold(true).withColor(ChatFormatting.BLUE));
+
+        StringBuilder features = new StringBuilder();
+        if (snapshot.isEmpty()) {
+            features.append("\n No data. Start the profiler with /bclib feature_profiler start");
+        }
+        //only show the features that took the most time
+        for (FeatureProfiler.Stats stats : snapshot.subList(0, Math.min(20, snapshot.size()))) {
+            features.append("\n - ")
+                    .append(stats.feature())
+                    .append(": ")
+                    .append(String.format("%.2f", stats.totalNanos() / 1_000_000.0))
+                    .append("ms (")
+                    .append(String.format("%.2f", stats.placeNanos() / 1_000_000.0))
+                    .append("ms placing), ")
+                    .append(stats.calls())
+                    .append(" Calls, ")
+                    .append(stats.successes())
+                    .append("/")
+                    .append(stats.positions())
+                    .append(" placed (")
+                    .append(String.format("%.1f", stats.successRate() * 100))
+                    .append("%), ")
+                    .append(stats.blocks())
+                    .append(" Blocks");
+        }
+        result.append(Component.literal(features.toString())
+                               .setStyle(Style.EMPTY.withBold(false).withColor(ChatFormatting.WHITE)));
+
+        ctx.getSource().sendSuccess(result, false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    static int setFeatureProfiler(CommandContext<CommandSourceStack> ctx, boolean enabled) {
+        FeatureProfiler.setEnabled(enabled);
+        ctx.getSource().sendSuccess(Component.literal("Feature Profiler was " + (enabled
+                ? "started."
+                : "stopped.")), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    static int resetFeatureProfile(CommandContext<CommandSourceStack> ctx) {
+        FeatureProfiler.reset();
+        ctx.getSource().sendSuccess(Component.literal("Feature Profile was reset."), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
     static int printUpdates(CommandContext<CommandSourceStack> ctx, boolean withUI) {
         boolean hasOne = false;
         MutableComponent header = Component.literal("Mod Updates:")
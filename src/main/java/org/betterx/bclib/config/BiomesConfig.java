@@ -4,11 +4,15 @@ import org.betterx.bclib.BCLib;
 import org.betterx.bclib.api.v2.levelgen.biomes.BiomeAPI;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BiomesConfig extends PathConfig {
 
     private Map<BiomeAPI.BiomeType, List<String>> BIOME_INCLUDE_LIST = null;
     private Map<BiomeAPI.BiomeType, List<String>> BIOME_EXCLUDE_LIST = null;
+    private final Map<BiomeAPI.BiomeType, Set<String>> includeSets = new ConcurrentHashMap<>();
+    private final Map<BiomeAPI.BiomeType, Set<String>> includeMatchingSets = new ConcurrentHashMap<>();
+    private final Map<BiomeAPI.BiomeType, Set<String>> excludeMatchingSets = new ConcurrentHashMap<>();
 
 
     public static final BiomeAPI.BiomeType[] endTypes = {
@@ -88,6 +92,38 @@ public class BiomesConfig extends PathConfig {
                                    .toList();
     }
 
+    /**
+     * Same as {@link #getIncludeMatching(BiomeAPI.BiomeType)}, but returns a cached set for fast lookups.
+     *
+     * @param type The type of biomes (including all types that have it as a parent)
+     * @return An unmodifiable set of biome ids
+     */
+    public Set<String> getIncludeMatchingSet(BiomeAPI.BiomeType type) {
+        return includeMatchingSets.computeIfAbsent(type, t -> Set.copyOf(getIncludeMatching(t)));
+    }
+
+    /**
+     * Same as {@link #getExcludeMatching(BiomeAPI.BiomeType)}, but returns a cached set for fast lookups.
+     *
+     * @param type The type of biomes (including all types that have it as a parent)
+     * @return An unmodifiable set of biome ids
+     */
+    public Set<String> getExcludeMatchingSet(BiomeAPI.BiomeType type) {
+        return excludeMatchingSets.computeIfAbsent(type, t -> Set.copyOf(getExcludeMatching(t)));
+    }
+
+    /**
+     * Returns the biomes that are force included for exactly this type (see {@link #getBiomeIncludeMap()}).
+     *
+     * @param type The type of biomes
+     * @return An unmodifiable set of biome ids
+     */
+    public Set<String> getIncludeSet(BiomeAPI.BiomeType type) {
+        return includeSets.computeIfAbsent(type, t -> {
+            final List<String> list = getBiomeIncludeMap().get(t);
+            return list == null ? Set.of() : Set.copyOf(list);
+        });
+    }
 
     public Map<BiomeAPI.BiomeType, List<String>> getBiomeIncludeMap() {
         if (BIOME_INCLUDE_LIST == null) {
@@ -5,6 +5,7 @@ import org.betterx.bclib.api.v2.dataexchange.DataExchangeAPI;
 import org.betterx.bclib.api.v2.dataexchange.SyncFileHash;
 import org.betterx.bclib.api.v2.dataexchange.handler.autosync.AutoSyncID;
 import org.betterx.bclib.api.v2.dataexchange.handler.autosync.FileContentWrapper;
+import org.betterx.bclib.api.v2.dataexchange.handler.autosync.HelloClient;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -63,6 +64,7 @@ public abstract class Config {
 
     public void saveChanges() {
         this.keeper.save();
+        if (autoSync || this instanceof ServerConfig) HelloClient.invalidateServerPayload();
     }
 
     public static void reloadSyncedConfig(AutoSyncID aid, File file) {
@@ -74,6 +76,7 @@ public abstract class Config {
 
     public void reload() {
         this.keeper.reload();
+        if (autoSync || this instanceof ServerConfig) HelloClient.invalidateServerPayload();
         BCLib.LOGGER.info("Did Reload " + keeper.getConfigFile());
     }
 
@@ -3,8 +3,37 @@ package org.betterx.bclib.config;
 import org.betterx.bclib.BCLib;
 
 public class GeneratorConfig extends NamedPathConfig {
+    public static final ConfigToken<Boolean> PRECOMPUTE_SURFACE_NOISE = ConfigToken.Boolean(
+            false,
+            "precomputeSurfaceNoise",
+            "surface"
+    );
+    public static final ConfigToken<Integer> PRECOMPUTED_BIOME_MAP_RADIUS = ConfigToken.Int(
+            4096,
+            "precomputedRadius",
+            "biomeMap"
+    );
+
     public GeneratorConfig() {
         super(BCLib.MOD_ID, "generator", true);
     }
 
+    /**
+     * When enabled, 2D surface noise conditions compute their noise for all columns of a chunk at once, instead of
+     * lazily for every column they are tested in.
+     *
+     * @return {@code true} if surface noise planes should be precomputed
+     */
+    public boolean precomputeSurfaceNoise() {
+        return get(PRECOMPUTE_SURFACE_NOISE);
+    }
+
+    /**
+     * The radius (in blocks, around the world origin) in which precomputed biome maps store their biomes.
+     *
+     * @return The radius, clamped to {@code 0..16384}
+     */
+    public int precomputedBiomeMapRadius() {
+        return Math.max(0, Math.min(16384, get(PRECOMPUTED_BIOME_MAP_RADIUS)));
+    }
 }
@@ -54,6 +54,18 @@ public class ServerConfig extends NamedPathConfig {
             "excludeMods",
             AutoSync.SYNC_CATEGORY
     );
+    public static final DependendConfigToken<Boolean> WATCH_SYNC_FOLDERS = DependendConfigToken.Boolean(
+            false,
+            "watchSyncFolders",
+            AutoSync.SYNC_CATEGORY,
+            (config) -> config.get(
+                    OFFER_FILES)
+    );
+    public static final ConfigToken<Integer> SYNC_FOLDER_POLL_INTERVAL = ConfigToken.Int(
+            30,
+            "syncFolderPollSeconds",
+            AutoSync.SYNC_CATEGORY
+    );
     public static final ConfigToken<Boolean> FORCE_BETTERX_PRESET = ConfigToken.Boolean(
             true,
             "forceBetterXPreset",
@@ -89,6 +101,14 @@ public class ServerConfig extends NamedPathConfig {
         return get(SEND_ALL_MOD_INFO) /*&& isAllowingAutoSync()*/;
     }
 
+    public boolean isWatchingSyncFolders() {
+        return get(WATCH_SYNC_FOLDERS);
+    }
+
+    public int syncFolderPollInterval() {
+        return Math.max(1, get(SYNC_FOLDER_POLL_INTERVAL));
+    }
+
     public boolean forceBetterXPreset() {
         return get(FORCE_BETTERX_PRESET);
     }
@@ -0,0 +1,11 @@
+package org.betterx.bclib.interfaces;
+
+import org.betterx.bclib.api.v2.levelgen.biomes.BiomeLookup;
+
+import org.jetbrains.annotations.Nullable;
+
+public interface BiomeLookupHolder {
+    @Nullable
+    BiomeLookup.Entry bcl_getLookupEntry();
+    void bcl_setLookupEntry(BiomeLookup.Entry entry);
+}
@@ -0,0 +1,7 @@
+package org.betterx.bclib.interfaces;
+
+import org.betterx.bclib.api.v3.levelgen.features.placement.LayerIndex;
+
+public interface LayerIndexProvider {
+    LayerIndex bcl_getLayerIndex();
+}
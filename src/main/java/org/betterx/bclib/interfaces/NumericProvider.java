@@ -23,5 +23,15 @@ public interface NumericProvider {
                                                    .dispatch(NumericProvider::pcodec, Function.identity());
     int getNumber(SurfaceRulesContextAccessor context);
 
+    /**
+     * Providers that return the same number for every block of an XZ-column can return {@code true}, so
+     * callers are allowed to evaluate them only once per column.
+     *
+     * @return {@code true} if the result only depends on the X- and Z-Position
+     */
+    default boolean isColumnConstant() {
+        return false;
+    }
+
     Codec<? extends NumericProvider> pcodec();
 }
@@ -1,9 +1,23 @@
 package org.betterx.bclib.mixin.common;
 
+import org.betterx.bclib.api.v2.levelgen.biomes.BiomeLookup;
+import org.betterx.bclib.interfaces.BiomeLookupHolder;
+
 import net.minecraft.world.level.biome.Biome;
 
 import org.spongepowered.asm.mixin.Mixin;
 
 @Mixin(Biome.class)
-public class BiomeMixin {
+public class BiomeMixin implements BiomeLookupHolder {
+    private BiomeLookup.Entry bcl_lookupEntry;
+
+    @Override
+    public BiomeLookup.Entry bcl_getLookupEntry() {
+        return bcl_lookupEntry;
+    }
+
+    @Override
+    public void bcl_setLookupEntry(BiomeLookup.Entry entry) {
+        bcl_lookupEntry = entry;
+    }
 }
@@ -1,19 +1,27 @@
 package org.betterx.bclib.mixin.common;
 
 import org.betterx.bclib.BCLib;
+import org.betterx.bclib.api.v2.generator.BCLBiomeSource;
 import org.betterx.bclib.interfaces.BiomeSourceAccessor;
 
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 @Mixin(BiomeSource.class)
 public abstract class BiomeSourceMixin implements BiomeSourceAccessor {
@@ -27,6 +35,30 @@ public abstract class BiomeSourceMixin implements BiomeSourceAccessor {
         //featuresPerStep = Suppliers.memoize(() -> FeatureSorter.buildFeaturesPerStep(this.possibleBiomes().stream().toList(), true));
     }
 
+    @Inject(method = "findClosestBiome3d", at = @At("HEAD"), cancellable = true)
+    private void bcl_findClosestBiome3d(
+            BlockPos origin,
+            int radius,
+            int horizontalStep,
+            int verticalStep,
+            Predicate<Holder<Biome>> predicate,
+            Climate.Sampler sampler,
+            LevelReader level,
+            CallbackInfoReturnable<Pair<BlockPos, Holder<Biome>>> info
+    ) {
+        if ((Object) this instanceof BCLBiomeSource source) {
+            info.setReturnValue(source.findClosestBiome(
+                    origin,
+                    radius,
+                    horizontalStep,
+                    verticalStep,
+                    predicate,
+                    sampler,
+                    level
+            ));
+        }
+    }
+
     @Inject(method = "<init>(Ljava/util/List;)V", at = @At("TAIL"))
     public void bcl_init(List list, CallbackInfo ci) {
 //        System.out.println("new BiomeSource (" + Integer.toHexString(hashCode()) + ", biomes=" + possibleBiomes().size() + ")");
@@ -0,0 +1,55 @@
+package org.betterx.bclib.mixin.common;
+
+import org.betterx.bclib.api.v3.levelgen.features.FeatureProfiler;
+import org.betterx.bclib.api.v3.levelgen.features.placement.PlacementPipeline;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+import net.minecraft.world.level.levelgen.placement.PlacementContext;
+import net.minecraft.world.level.levelgen.placement.PlacementModifier;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.List;
+
+@Mixin(PlacedFeature.class)
+public class PlacedFeatureMixin {
+    @Final
+    @Shadow
+    private Holder<ConfiguredFeature<?, ?>> feature;
+
+    @Final
+    @Shadow
+    private List<PlacementModifier> placement;
+
+    @Inject(method = "placeWithContext", at = @At("HEAD"), cancellable = true)
+    private void bcl_placeWithPipeline(
+            PlacementContext placementContext,
+            RandomSource randomSource,
+            BlockPos blockPos,
+            CallbackInfoReturnable<Boolean> cir
+    ) {
+        final FeatureProfiler.Entry profile = FeatureProfiler.entryFor(
+                placementContext,
+                (PlacedFeature) (Object) this
+        );
+        if (profile != null || PlacementPipeline.canRun(placement)) {
+            cir.setReturnValue(PlacementPipeline.place(
+                    placement,
+                    feature.value(),
+                    placementContext,
+                    randomSource,
+                    blockPos,
+                    profile
+            ));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package org.betterx.bclib.mixin.common;
 
+import org.betterx.bclib.api.v3.levelgen.features.FeatureProfiler;
+import org.betterx.bclib.api.v3.levelgen.features.placement.LayerIndex;
+import org.betterx.bclib.interfaces.LayerIndexProvider;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.WorldGenRegion;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkAccess;
 
 import org.spongepowered.asm.mixin.Final;
@@ -12,11 +17,31 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(WorldGenRegion.class)
-public class WorldGenRegionMixin {
+public class WorldGenRegionMixin implements LayerIndexProvider {
     @Final
     @Shadow
     private ChunkAccess center;
 
+    private LayerIndex bcl_layerIndex;
+
+    @Override
+    public LayerIndex bcl_getLayerIndex() {
+        if (bcl_layerIndex == null) bcl_layerIndex = new LayerIndex();
+        return bcl_layerIndex;
+    }
+
+    @Inject(method = "setBlock", at = @At("HEAD"))
+    private void bcl_onSetBlock(
+            BlockPos blockPos,
+            BlockState blockState,
+            int flags,
+            int maxUpdateDepth,
+            CallbackInfoReturnable<Boolean> info
+    ) {
+        if (bcl_layerIndex != null) bcl_layerIndex.invalidate(blockPos);
+        FeatureProfiler.countBlock();
+    }
+
     //TODO: 1.19 Is it ok to remove this?
     @Inject(method = "ensureCanWrite", at = @At("HEAD"), cancellable = true)
     private void be_alterBlockCheck(BlockPos blockPos, CallbackInfoReturnable<Boolean> info) {
@@ -8,13 +8,19 @@ import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
 import net.minecraft.world.level.levelgen.synth.NormalNoise;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Noises {
-    private static final Map<ResourceKey<NormalNoise.NoiseParameters>, NormalNoise> noiseIntances = new HashMap<>();
+    private record SeededKey(ResourceKey<NormalNoise.NoiseParameters> noise, long seed) {
+    }
+
+    private static final Map<ResourceKey<NormalNoise.NoiseParameters>, NormalNoise> noiseIntances = new ConcurrentHashMap<>();
+    private static final Map<SeededKey, NormalNoise> seededNoiseInstances = new ConcurrentHashMap<>();
+    private static volatile int generation = 0;
     public static final ResourceKey<NormalNoise.NoiseParameters> ROUGHNESS_NOISE = createKey(BCLib.makeID(
             "roughness_noise"));
 
@@ -39,4 +45,43 @@ public class Noises {
         final Registry<NormalNoise.NoiseParameters> registry = registryAccess.registryOrThrow(Registry.NOISE_REGISTRY);
         return noiseIntances.computeIfAbsent(noise, (key) -> createNoise(registry, randomSource, noise));
     }
+
+    /**
+     * Returns the noise for a world seed. Unlike {@link #getOrCreateNoise(RegistryAccess, RandomSource, ResourceKey)}
+     * the result only depends on the seed and the noise key, so the same world always generates the same noise.
+     *
+     * @param registryAccess The registries of the current world
+     * @param seed           The world seed
+     * @param noise          The key of the noise parameters
+     * @return The noise
+     */
+    public static NormalNoise getOrCreateNoise(
+            RegistryAccess registryAccess,
+            long seed,
+            ResourceKey<NormalNoise.NoiseParameters> noise
+    ) {
+        return seededNoiseInstances.computeIfAbsent(new SeededKey(noise, seed), (key) -> createNoise(
+                registryAccess.registryOrThrow(Registry.NOISE_REGISTRY),
+                new XoroshiroRandomSource(seed).forkPositional().fromHashOf(noise.location()),
+                noise
+        ));
+    }
+
+    /**
+     * Incremented whenever the seeded noises are dropped. Callers that keep a noise returned by
+     * {@link #getOrCreateNoise(RegistryAccess, long, ResourceKey)} must fetch it again when this value changes.
+     *
+     * @return The current generation of the seeded noises
+     */
+    public static int generation() {
+        return generation;
+    }
+
+    /**
+     * Drops all seeded noises, as the noise parameters may have changed with the registries.
+     */
+    public static void invalidate() {
+        seededNoiseInstances.clear();
+        generation++;
+    }
 }
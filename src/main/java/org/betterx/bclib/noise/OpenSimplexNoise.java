@@ -194,6 +194,19 @@ public class OpenSimplexNoise {
         return value / NORM_CONSTANT_2D;
     }
 
+    // Evaluates 2D OpenSimplex Noise for a grid of block positions in one pass.
+    // target[dz * sizeX + dx] receives the value at ((minX + dx) * scaleX, (minZ + dz) * scaleZ),
+    // which is exactly what eval() returns for that position.
+    public void evalPlane(double[] target, int minX, int minZ, int sizeX, int sizeZ, double scaleX, double scaleZ) {
+        int i = 0;
+        for (int dz = 0; dz < sizeZ; dz++) {
+            final double z = (minZ + dz) * scaleZ;
+            for (int dx = 0; dx < sizeX; dx++) {
+                target[i++] = eval((minX + dx) * scaleX, z);
+            }
+        }
+    }
+
     // 3D OpenSimplex Noise.
     public double eval(double x, double y, double z) {
 
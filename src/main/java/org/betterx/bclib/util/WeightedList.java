@@ -16,6 +16,8 @@ public class WeightedList<T> {
     private final List<Float> weights = new ArrayList<Float>();
     private final List<T> values = new ArrayList<T>();
     private float maxWeight;
+    //built on first use and dropped whenever the list changes
+    private volatile WeightedSampler<T> sampler;
 
     public static <T> Codec<Pair<Float, T>> pairCodec(Codec<T> elementCodec, String fieldName) {
         return Pair.pairCodec(Codec.FLOAT, elementCodec, "weight", fieldName);
@@ -64,6 +66,7 @@ public class WeightedList<T> {
         weights.addAll(other.weights);
         values.addAll(other.values);
         maxWeight += other.maxWeight;
+        sampler = null;
     }
 
     /**
@@ -76,6 +79,7 @@ public class WeightedList<T> {
         maxWeight += weight;
         weights.add(maxWeight);
         values.add(value);
+        sampler = null;
     }
 
     /**
@@ -88,14 +92,22 @@ public class WeightedList<T> {
         if (maxWeight < 1) {
             return null;
         }
-        float weight = random.nextFloat() * maxWeight;
-        for (int i = 0; i < weights.size(); i++) {
-            if (weight <= weights.get(i)) {
-                return values.get(i);
-            }
-            weight -= weights.get(i);
+        return getSampler().get(random);
+    }
+
+    /**
+     * Returns an immutable sampler that draws the same values as {@link #get(RandomSource)} in constant time.
+     * The sampler does not change when values are added to this list later.
+     *
+     * @return {@link WeightedSampler} for the current content of this list.
+     */
+    public WeightedSampler<T> getSampler() {
+        WeightedSampler<T> s = sampler;
+        if (s == null) {
+            s = WeightedSampler.of(this);
+            sampler = s;
         }
-        return null;
+        return s;
     }
 
     /**
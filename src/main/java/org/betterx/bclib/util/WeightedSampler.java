@@ -0,0 +1,153 @@
+package org.betterx.bclib.util;
+
+import net.minecraft.util.RandomSource;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sampler that picks a value of a weighted list in (expected) constant time.
+ * <p>
+ * The sampler keeps the upper bound of every value in a primitive array and a guide table that stores, for equally
+ * sized slices of the weight range, the first value that can be hit in that slice. A draw only has to look at the
+ * few values that share a slice. Unlike an alias table, every random value maps to the same entry as a linear
+ * search over the list would, so existing worlds generate the same content.
+ *
+ * @param <T> The type of the values
+ */
+public final class WeightedSampler<T> {
+    private final Object[] values;
+    //nondecreasing upper bounds of the values
+    private final float[] bounds;
+    private final boolean inclusive;
+    private final T fallback;
+    private final float maxWeight;
+    private final int[] guide;
+    private final double scale;
+
+    private WeightedSampler(Object[] values, float[] bounds, boolean inclusive, T fallback, float maxWeight) {
+        this.values = values;
+        this.bounds = bounds;
+        this.inclusive = inclusive;
+        this.fallback = fallback;
+        this.maxWeight = maxWeight;
+
+        final int size = Math.max(1, values.length);
+        this.guide = new int[size];
+        this.scale = maxWeight > 0 ? size / (double) maxWeight : 0;
+        int index = 0;
+        for (int k = 0; k < size; k++) {
+            //slightly below the start of the slice, so the guide never skips a value because of rounding
+            final double lowerBound = scale == 0 ? 0 : (k / scale) * (1 - 1e-9);
+            while (index < bounds.length && bounds[index] < lowerBound) index++;
+            guide[k] = index;
+        }
+    }
+
+    /**
+     * Creates a sampler that returns the same values as {@link WeightedList#get(RandomSource)}.
+     *
+     * @param list The list to sample
+     * @param <T>  The type of the values
+     * @return The new sampler
+     */
+    static <T> WeightedSampler<T> of(WeightedList<T> list) {
+        final int size = list.size();
+        final float[] weights = new float[size];
+        final Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = list.getWeight(i);
+            values[i] = list.get(i);
+        }
+
+        //WeightedList subtracts the weights one after another, so the bounds are calculated with the same
+        //float operations to get identical results at the edges.
+        final float[] bounds = new float[size];
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, highestAccepted(weights, i));
+            bounds[i] = max;
+        }
+        return new WeightedSampler<>(values, bounds, true, null, list.getMaxWeight());
+    }
+
+    /**
+     * Creates a sampler for a list of cumulative weights that returns the first value whose weight is greater
+     * than the drawn value (as {@link WeighTree} does).
+     *
+     * @param list A list that was built with {@link WeightedList#add(Object, float)}
+     * @param <T>  The type of the values
+     * @return The new sampler
+     */
+    static <T> WeightedSampler<T> ofCumulative(WeightedList<T> list) {
+        final int size = list.size();
+        final float[] bounds = new float[size];
+        final Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            bounds[i] = list.getWeight(i);
+            values[i] = list.get(i);
+        }
+        return new WeightedSampler<>(values, bounds, false, size == 0 ? null : list.get(size - 1), list.getMaxWeight());
+    }
+
+    /**
+     * Returns the largest value {@code x} for which {@link WeightedList#get(RandomSource)} would stop at
+     * {@code index}, when starting with {@code x}.
+     */
+    private static float highestAccepted(float[] weights, int index) {
+        if (!accepts(weights, index, 0)) return Float.NEGATIVE_INFINITY;
+        //positive floats are ordered like their bit patterns
+        int lo = 0;
+        int hi = Float.floatToRawIntBits(Float.MAX_VALUE);
+        while (lo < hi) {
+            final int mid = (lo + hi + 1) >>> 1;
+            if (accepts(weights, index, Float.intBitsToFloat(mid))) lo = mid;
+            else hi = mid - 1;
+        }
+        return Float.intBitsToFloat(lo);
+    }
+
+    private static boolean accepts(float[] weights, int index, float value) {
+        for (int i = 0; i < index; i++) {
+            value -= weights[i];
+        }
+        return value <= weights[index];
+    }
+
+    /**
+     * Get random value.
+     *
+     * @param random - {@link RandomSource}.
+     * @return {@link T} value.
+     */
+    public T get(RandomSource random) {
+        return get(random.nextFloat() * maxWeight);
+    }
+
+    /**
+     * Get the value at a position of the weight range.
+     *
+     * @param value - {@code float} position between {@code 0} and {@link #getMaxWeight()}.
+     * @return {@link T} value.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(float value) {
+        final int k = Math.max(0, Math.min(guide.length - 1, (int) (value * scale)));
+        for (int i = guide[k]; i < bounds.length; i++) {
+            if (inclusive ? value <= bounds[i] : value < bounds[i]) return (T) values[i];
+        }
+        return fallback;
+    }
+
+    public float getMaxWeight() {
+        return maxWeight;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        return "WeightedSampler" + Arrays.toString(values);
+    }
+}
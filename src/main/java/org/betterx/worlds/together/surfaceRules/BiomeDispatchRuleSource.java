@@ -0,0 +1,203 @@
+package org.betterx.worlds.together.surfaceRules;
+
+import org.betterx.bclib.mixin.common.SurfaceRulesContextAccessor;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.KeyDispatchDataCodec;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.SurfaceRules;
+
+import java.util.*;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A sequence of rules that are each restricted to a set of biomes (using {@link SurfaceRules#isBiome}).
+ * <p>
+ * Instead of testing the biome condition of every rule one after another, the biome of the current block is
+ * resolved once and only the rules of that biome are evaluated (in their original order). As rules for
+ * different biomes can never both apply, the result is the same as for a {@link SurfaceRules.SequenceRuleSource}
+ * of the same rules.
+ */
+public final class BiomeDispatchRuleSource implements SurfaceRules.RuleSource {
+    public static final Codec<BiomeDispatchRuleSource> CODEC = RecordCodecBuilder.create(instance -> instance
+            .group(
+                    SurfaceRules.RuleSource.CODEC.listOf().fieldOf("sequence").forGetter(BiomeDispatchRuleSource::sequence)
+            )
+            .apply(instance, BiomeDispatchRuleSource::new)
+    );
+    private static final KeyDispatchDataCodec<? extends SurfaceRules.RuleSource> KEY_CODEC = KeyDispatchDataCodec.of(
+            CODEC);
+
+    //a run of biome rules needs at least this many entries before dispatching pays off
+    private static final int MIN_DISPATCH_SIZE = 2;
+
+    private final List<SurfaceRules.RuleSource> sequence;
+    private final Map<ResourceKey<Biome>, SurfaceRules.RuleSource> rulesByBiome;
+
+    /**
+     * @param sequence The biome restricted rules, in the order they should be evaluated
+     */
+    public BiomeDispatchRuleSource(List<SurfaceRules.RuleSource> sequence) {
+        this.sequence = sequence;
+        this.rulesByBiome = buildRulesByBiome(sequence);
+    }
+
+    public List<SurfaceRules.RuleSource> sequence() {
+        return sequence;
+    }
+
+    @Override
+    public KeyDispatchDataCodec<? extends SurfaceRules.RuleSource> codec() {
+        return KEY_CODEC;
+    }
+
+    /**
+     * Returns the biomes a rule is restricted to.
+     *
+     * @param rule The rule to test
+     * @return The biomes, or {@code null} if the rule is not restricted by a top level biome condition
+     */
+    @Nullable
+    static List<ResourceKey<Biome>> getBiomes(SurfaceRules.RuleSource rule) {
+        if (rule instanceof SurfaceRules.TestRuleSource test
+                && test.ifTrue() instanceof SurfaceRules.BiomeConditionSource condition) {
+            return condition.biomes;
+        }
+        return null;
+    }
+
+    /**
+     * Replaces all consecutive runs of biome restricted rules in {@code rules} with a
+     * {@link BiomeDispatchRuleSource}. Rules that are not restricted to biomes keep their position, so the
+     * order of evaluation does not change.
+     *
+     * @param rules The rules of a sequence
+     * @return The new list of rules
+     */
+    public static List<SurfaceRules.RuleSource> groupByBiome(List<SurfaceRules.RuleSource> rules) {
+        final List<SurfaceRules.RuleSource> result = new ArrayList<>(rules.size());
+        final List<SurfaceRules.RuleSource> run = new ArrayList<>();
+        for (SurfaceRules.RuleSource rule : rules) {
+            if (getBiomes(rule) != null) {
+                run.add(rule);
+            } else {
+                flushRun(run, result);
+                result.add(rule);
+            }
+        }
+        flushRun(run, result);
+        return result;
+    }
+
+    private static void flushRun(List<SurfaceRules.RuleSource> run, List<SurfaceRules.RuleSource> result) {
+        if (run.size() >= MIN_DISPATCH_SIZE) {
+            result.add(new BiomeDispatchRuleSource(List.copyOf(run)));
+        } else {
+            result.addAll(run);
+        }
+        run.clear();
+    }
+
+    /**
+     * Reverses {@link #groupByBiome(List)}.
+     *
+     * @param rules The rules of a sequence
+     * @return The rules with all {@link BiomeDispatchRuleSource}s replaced by their content
+     */
+    public static List<SurfaceRules.RuleSource> expand(List<SurfaceRules.RuleSource> rules) {
+        final List<SurfaceRules.RuleSource> result = new ArrayList<>(rules.size());
+        for (SurfaceRules.RuleSource rule : rules) {
+            if (rule instanceof BiomeDispatchRuleSource dispatch) result.addAll(dispatch.sequence);
+            else result.add(rule);
+        }
+        return result;
+    }
+
+    private static Map<ResourceKey<Biome>, SurfaceRules.RuleSource> buildRulesByBiome(List<SurfaceRules.RuleSource> sequence) {
+        final Map<ResourceKey<Biome>, List<SurfaceRules.RuleSource>> lists = new HashMap<>();
+        for (SurfaceRules.RuleSource rule : sequence) {
+            final List<ResourceKey<Biome>> biomes = getBiomes(rule);
+            if (biomes == null) continue;
+            //the biome was already tested, so we can directly use the content of the rule
+            final SurfaceRules.RuleSource content = ((SurfaceRules.TestRuleSource) rule).thenRun();
+            for (ResourceKey<Biome> biome : biomes) {
+                lists.computeIfAbsent(biome, k -> new ArrayList<>()).add(content);
+            }
+        }
+
+        final Map<ResourceKey<Biome>, SurfaceRules.RuleSource> map = new HashMap<>(lists.size());
+        lists.forEach((biome, rules) -> map.put(
+                biome,
+                rules.size() == 1 ? rules.get(0) : new SurfaceRules.SequenceRuleSource(rules)
+        ));
+        return map;
+    }
+
+    @Override
+    public SurfaceRules.SurfaceRule apply(SurfaceRules.Context context) {
+        return new DispatchRule(context, rulesByBiome);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BiomeDispatchRuleSource that)) return false;
+        return sequence.equals(that.sequence);
+    }
+
+    @Override
+    public int hashCode() {
+        return sequence.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BiomeDispatchRuleSource{" + rulesByBiome.size() + " biomes, " + sequence.size() + " rules}";
+    }
+
+    private static class DispatchRule implements SurfaceRules.SurfaceRule {
+        private final SurfaceRules.Context context;
+        private final SurfaceRulesContextAccessor accessor;
+        private final Map<ResourceKey<Biome>, SurfaceRules.RuleSource> rulesByBiome;
+        //rules are only instantiated for biomes that actually occur in the chunk
+        private final Map<ResourceKey<Biome>, SurfaceRules.SurfaceRule> applied = new IdentityHashMap<>();
+        private long lastUpdateY = Long.MIN_VALUE;
+        private SurfaceRules.SurfaceRule current;
+
+        DispatchRule(SurfaceRules.Context context, Map<ResourceKey<Biome>, SurfaceRules.RuleSource> rulesByBiome) {
+            this.context = context;
+            this.accessor = SurfaceRulesContextAccessor.class.cast(context);
+            this.rulesByBiome = rulesByBiome;
+        }
+
+        @Nullable
+        @Override
+        public BlockState tryApply(int x, int y, int z) {
+            //the biome of a context only changes when the Y-Position is updated
+            final long updateY = accessor.getLastUpdateY();
+            if (updateY != lastUpdateY) {
+                lastUpdateY = updateY;
+                current = resolve(accessor.getBiome().get());
+            }
+            return current == null ? null : current.tryApply(x, y, z);
+        }
+
+        @Nullable
+        private SurfaceRules.SurfaceRule resolve(Holder<Biome> biome) {
+            final ResourceKey<Biome> key = biome.unwrapKey().orElse(null);
+            if (key == null) return null;
+
+            SurfaceRules.SurfaceRule rule = applied.get(key);
+            if (rule == null && !applied.containsKey(key)) {
+                final SurfaceRules.RuleSource source = rulesByBiome.get(key);
+                rule = source == null ? null : source.apply(context);
+                applied.put(key, rule);
+            }
+            return rule;
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class SurfaceRuleRegistry {
     }
 
     public static void ensureStaticallyLoaded() {
-
+        Registry.register(Registry.RULE, WorldsTogether.makeID("biome_dispatch"), BiomeDispatchRuleSource.CODEC);
     }
 
 }
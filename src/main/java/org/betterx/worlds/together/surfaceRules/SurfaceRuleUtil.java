@@ -13,22 +13,50 @@ import net.minecraft.world.level.levelgen.NoiseGeneratorSettings;
 import net.minecraft.world.level.levelgen.SurfaceRules;
 import net.minecraft.world.level.levelgen.WorldGenSettings;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class SurfaceRuleUtil {
-    private static List<SurfaceRules.RuleSource> getRulesForBiome(ResourceLocation biomeID) {
-        Registry<AssignedSurfaceRule> registry = SurfaceRuleRegistry.BUILTIN_SURFACE_RULES;
+    private static Registry<AssignedSurfaceRule> indexedRegistry;
+    private static int indexedSize;
+    private static Map<ResourceLocation, List<SurfaceRules.RuleSource>> rulesByBiome;
+
+    private static Registry<AssignedSurfaceRule> getRuleRegistry() {
         if (WorldBootstrap.getLastRegistryAccess() != null)
-            registry = WorldBootstrap.getLastRegistryAccess()
-                                     .registryOrThrow(SurfaceRuleRegistry.SURFACE_RULES_REGISTRY);
-        return registry.stream()
-                       .filter(a -> a != null && a.biomeID != null && a.biomeID.equals(
-                               biomeID))
-                       .map(a -> a.ruleSource)
-                       .toList();
+            return WorldBootstrap.getLastRegistryAccess()
+                                 .registryOrThrow(SurfaceRuleRegistry.SURFACE_RULES_REGISTRY);
+        return SurfaceRuleRegistry.BUILTIN_SURFACE_RULES;
+    }
+
+    /**
+     * Returns the rules of all biomes, indexed by the biome id. The index is rebuilt whenever the registry
+     * changes (for example after a datapack reload).
+     */
+    private static synchronized Map<ResourceLocation, List<SurfaceRules.RuleSource>> getRuleIndex() {
+        final Registry<AssignedSurfaceRule> registry = getRuleRegistry();
+        if (rulesByBiome == null || registry != indexedRegistry || registry.size() != indexedSize) {
+            final Map<ResourceLocation, List<SurfaceRules.RuleSource>> index = new HashMap<>();
+            for (AssignedSurfaceRule a : registry) {
+                if (a != null && a.biomeID != null)
+                    index.computeIfAbsent(a.biomeID, id -> new ArrayList<>()).add(a.ruleSource);
+            }
+            rulesByBiome = index;
+            indexedRegistry = registry;
+            indexedSize = registry.size();
+        }
+        return rulesByBiome;
+    }
 
+    /**
+     * Forces a rebuild of the biome to rule index on the next lookup.
+     */
+    public static synchronized void invalidateRuleIndex() {
+        rulesByBiome = null;
+        indexedRegistry = null;
+    }
+
+    private static List<SurfaceRules.RuleSource> getRulesForBiome(ResourceLocation biomeID) {
+        return getRuleIndex().getOrDefault(biomeID, List.of());
     }
 
     private static List<SurfaceRules.RuleSource> getRulesForBiomes(List<Biome> biomes) {
@@ -61,10 +89,12 @@ public class SurfaceRuleUtil {
         if (additionalRules == null || additionalRules.isEmpty()) return org;
 
         if (org instanceof SurfaceRules.SequenceRuleSource sequenceRule) {
-            List<SurfaceRules.RuleSource> existingSequence = sequenceRule.sequence();
+            //undo the grouping of an earlier merge, so we can detect rules that were already added
+            List<SurfaceRules.RuleSource> existingSequence = BiomeDispatchRuleSource.expand(sequenceRule.sequence());
+            Set<SurfaceRules.RuleSource> existingRules = new HashSet<>(existingSequence);
             additionalRules = additionalRules
                     .stream()
-                    .filter(r -> existingSequence.indexOf(r) < 0)
+                    .filter(r -> !existingRules.contains(r))
                     .collect(Collectors.toList());
             if (additionalRules.size() == 0) return org;
             additionalRules.addAll(existingSequence);
@@ -73,7 +103,8 @@ public class SurfaceRuleUtil {
                 additionalRules.add(org);
         }
 
-        return new SurfaceRules.SequenceRuleSource(additionalRules);
+        //rules for different biomes are mutually exclusive, so we can jump directly to the rules of a biome
+        return new SurfaceRules.SequenceRuleSource(BiomeDispatchRuleSource.groupByBiome(additionalRules));
     }
 
     public static void injectSurfaceRules(NoiseGeneratorSettings noiseSettings, BiomeSource loadedBiomeSource) {
@@ -35,6 +35,13 @@ public class WorldConfig {
     private static final String TAG_MODIFIED = "modify_version";
     private static File dataDir;
 
+    /**
+     * @return The data folder of the currently loaded world, or {@code null} if no world was loaded yet
+     */
+    public static File getDataDir() {
+        return dataDir;
+    }
+
     public static void load(File dataDir) {
         WorldConfig.dataDir = dataDir;
         MODS.stream()
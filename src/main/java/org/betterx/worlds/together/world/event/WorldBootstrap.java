@@ -62,6 +62,7 @@ public class WorldBootstrap {
         private static void onRegistryReady(RegistryAccess a) {
             if (a != LAST_REGISTRY_ACCESS) {
                 LAST_REGISTRY_ACCESS = a;
+                SurfaceRuleUtil.invalidateRuleIndex();
                 WorldEventsImpl.WORLD_REGISTRY_READY.emit(e -> e.initRegistry(a));
             }
         }